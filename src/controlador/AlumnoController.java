@@ -1,7 +1,13 @@
 package src.controlador;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import src.repositorio.*;
 import src.modelo.*;;
 
@@ -14,14 +20,18 @@ public class AlumnoController {
     
     private IAlumnoRepository repositorio;
     
+    // Para lanzar consultas independientes en paralelo
+    private IAlumnoRepositoryAsync asincrono;
+    
     // Constructor que permite inyección de dependencias
     public AlumnoController(IAlumnoRepository repositorio) {
         this.repositorio = repositorio;
+        this.asincrono = AlumnoRepositoryAsync.de(repositorio);
     }
     
     // Constructor por defecto (usa implementación en memoria)
     public AlumnoController() {
-        this.repositorio = AlumnoRepositoryMemoria.getInstancia();
+        this(AlumnoRepositoryMemoria.getInstancia());
     }
     
     // ==================== OPERACIONES CRUD ====================
@@ -36,67 +46,35 @@ public class AlumnoController {
                                           int ciclo, double promedio, String fechaIngreso) {
         try {
             // Validaciones de negocio
-            if (codigoAlumno == null || codigoAlumno.trim().isEmpty()) {
-                return new RespuestaOperacion(false, "El código de alumno es obligatorio");
-            }
-            
-            if (nombre == null || nombre.trim().isEmpty()) {
-                return new RespuestaOperacion(false, "El nombre es obligatorio");
-            }
-            
-            if (apellido == null || apellido.trim().isEmpty()) {
-                return new RespuestaOperacion(false, "El apellido es obligatorio");
-            }
-            
-            if (dni == null || !dni.matches("\\d{8}")) {
-                return new RespuestaOperacion(false, "El DNI debe tener 8 dígitos");
-            }
-            
-            if (email == null || !email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
-                return new RespuestaOperacion(false, "El email no tiene un formato válido");
-            }
-            
-            if (carrera == null || carrera.trim().isEmpty()) {
-                return new RespuestaOperacion(false, "La carrera es obligatoria");
-            }
-            
-            if (ciclo < 1 || ciclo > 12) {
-                return new RespuestaOperacion(false, "El ciclo debe estar entre 1 y 12");
-            }
-            
-            if (promedio < 0 || promedio > 20) {
-                return new RespuestaOperacion(false, "El promedio debe estar entre 0 y 20");
-            }
-            
-            // Verificar duplicados
-            if (repositorio.existe(codigoAlumno)) {
-                return new RespuestaOperacion(false, 
-                    "Ya existe un alumno con el código: " + codigoAlumno);
-            }
-            
-            if (repositorio.existePorDNI(dni)) {
-                return new RespuestaOperacion(false, 
-                    "Ya existe un alumno con el DNI: " + dni);
+            String error = validarAlumnoNuevo(codigoAlumno, nombre, apellido, dni, fechaNacimiento,
+                                              email, carrera, ciclo, promedio, fechaIngreso);
+            if (error != null) {
+                return new RespuestaOperacion(false, error);
             }
             
             // Crear el alumno
-            Alumno nuevoAlumno = new Alumno(
-                nombre.trim(), apellido.trim(), dni.trim(), fechaNacimiento,
-                direccion, telefono, email.trim().toLowerCase(),
-                codigoAlumno.trim().toUpperCase(), carrera.trim(), ciclo, 
-                promedio, "Activo", fechaIngreso, 0
-            );
-            
-            // Guardar en el repositorio
-            if (repositorio.guardar(nuevoAlumno)) {
-                return new RespuestaOperacion(true, 
-                    "Alumno creado exitosamente: " + nuevoAlumno.getNombreCompleto(),
-                    nuevoAlumno);
-            } else {
-                return new RespuestaOperacion(false, 
-                    "No se pudo guardar el alumno. Verifique los datos.");
+            Alumno nuevoAlumno = construirAlumnoNuevo(codigoAlumno, nombre, apellido, dni,
+                                                      fechaNacimiento, direccion, telefono, email,
+                                                      carrera, ciclo, promedio, "Activo", fechaIngreso, 0);
+            
+            // Guardar en el repositorio: los duplicados se detectan al guardar,
+            // sin consultas previas que otro registro concurrente podría adelantar
+            switch (repositorio.registrar(nuevoAlumno)) {
+                case REGISTRADO:
+                    return new RespuestaOperacion(true, 
+                        "Alumno creado exitosamente: " + nuevoAlumno.getNombreCompleto(),
+                        nuevoAlumno);
+                case CODIGO_DUPLICADO:
+                    return new RespuestaOperacion(false, 
+                        "Ya existe un alumno con el código: " + nuevoAlumno.getCodigoAlumno());
+                case DNI_DUPLICADO:
+                    return new RespuestaOperacion(false, 
+                        "Ya existe un alumno con el DNI: " + nuevoAlumno.getDni());
+                default:
+                    return new RespuestaOperacion(false, 
+                        "No se pudo guardar el alumno. Verifique los datos.");
             }
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error inesperado al crear alumno: " + e.getMessage());
@@ -144,6 +122,15 @@ public class AlumnoController {
                 return new RespuestaOperacion(false, "El promedio debe estar entre 0 y 20");
             }
             
+            if (EstadoAlumno.desdeNombre(estado) == null) {
+                return new RespuestaOperacion(false, 
+                    "El estado debe ser Activo, Inactivo, Egresado o Retirado");
+            }
+            
+            if (!FechaCompacta.esValida(fechaNacimiento) || !FechaCompacta.esValida(fechaIngreso)) {
+                return new RespuestaOperacion(false, "Las fechas deben tener el formato YYYY-MM-DD");
+            }
+            
             // Crear alumno actualizado
             Alumno alumnoActualizado = new Alumno(
                 nombre.trim(), apellido.trim(), dni.trim(), fechaNacimiento,
@@ -161,7 +148,7 @@ public class AlumnoController {
                 return new RespuestaOperacion(false, 
                     "No se pudo actualizar el alumno. Verifique los datos.");
             }
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error inesperado al modificar alumno: " + e.getMessage());
@@ -195,7 +182,7 @@ public class AlumnoController {
                 return new RespuestaOperacion(false, 
                     "No se pudo eliminar el alumno");
             }
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error inesperado al eliminar alumno: " + e.getMessage());
@@ -223,7 +210,7 @@ public class AlumnoController {
                 return new RespuestaOperacion(false, 
                     "No se encontró un alumno con el código: " + codigoAlumno);
             }
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al buscar alumno: " + e.getMessage());
@@ -249,7 +236,72 @@ public class AlumnoController {
             
             return new RespuestaOperacion(true, 
                 "Se encontraron " + alumnos.size() + " alumno(s)", alumnos);
+        
+        } catch (Exception e) {
+            return new RespuestaOperacion(false, 
+                "Error al buscar alumnos: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Buscar alumnos por nombre devolviendo solo los datos de la lista (AlumnoResumen)
+     */
+    public RespuestaOperacion buscarResumenPorNombre(String nombre) {
+        try {
+            if (nombre == null || nombre.trim().isEmpty()) {
+                return new RespuestaOperacion(false, 
+                    "Debe proporcionar un término de búsqueda");
+            }
+            
+            List<AlumnoResumen> alumnos = repositorio.buscarResumenPorNombre(nombre);
+            
+            if (alumnos.isEmpty()) {
+                return new RespuestaOperacion(false, 
+                    "No se encontraron alumnos con el término: " + nombre);
+            }
+            
+            return new RespuestaOperacion(true, 
+                "Se encontraron " + alumnos.size() + " alumno(s)", alumnos);
+        
+        } catch (Exception e) {
+            return new RespuestaOperacion(false, 
+                "Error al buscar alumnos: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Buscar por código y, si no hay alumno con ese código, por nombre
+     * Las dos búsquedas se lanzan a la vez; el resultado por nombre solo se
+     * usa si la del código no encuentra nada
+     */
+    public RespuestaOperacion buscarPorCodigoONombre(String termino) {
+        try {
+            if (termino == null || termino.trim().isEmpty()) {
+                return new RespuestaOperacion(false, 
+                    "Debe proporcionar un término de búsqueda");
+            }
+            
+            CompletableFuture<Optional<Alumno>> porCodigo = asincrono.buscarPorCodigo(termino);
+            CompletableFuture<List<AlumnoResumen>> porNombre = asincrono.buscarResumenPorNombre(termino);
+            
+            Optional<Alumno> alumno = porCodigo.join();
+            if (alumno.isPresent()) {
+                return new RespuestaOperacion(true, 
+                    "Alumno encontrado", alumno.get());
+            }
+            
+            List<AlumnoResumen> alumnos = porNombre.join();
+            if (alumnos.isEmpty()) {
+                return new RespuestaOperacion(false, 
+                    "No se encontraron alumnos con el término: " + termino);
+            }
             
+            return new RespuestaOperacion(true, 
+                "Se encontraron " + alumnos.size() + " alumno(s)", alumnos);
+        
+        } catch (CompletionException e) {
+            return new RespuestaOperacion(false, 
+                "Error al buscar alumnos: " + e.getCause().getMessage());
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al buscar alumnos: " + e.getMessage());
@@ -274,7 +326,7 @@ public class AlumnoController {
                 return new RespuestaOperacion(false, 
                     "No se encontró un alumno con el DNI: " + dni);
             }
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al buscar alumno: " + e.getMessage());
@@ -295,7 +347,57 @@ public class AlumnoController {
             
             return new RespuestaOperacion(true, 
                 "Total de alumnos: " + alumnos.size(), alumnos);
+        
+        } catch (Exception e) {
+            return new RespuestaOperacion(false, 
+                "Error al obtener alumnos: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Obtener una página de alumnos ordenados por apellido y nombre
+     * @param continuacion Token devuelto en la página anterior (null para la primera)
+     * @param tamanio Cantidad de alumnos por página
+     */
+    public RespuestaOperacion obtenerPagina(String continuacion, int tamanio) {
+        try {
+            PaginaAlumnos pagina = repositorio.obtenerPagina(continuacion, tamanio);
+            
+            if (pagina.getAlumnos().isEmpty() && continuacion == null) {
+                return new RespuestaOperacion(false, 
+                    "No hay alumnos registrados en el sistema");
+            }
+            
+            return new RespuestaOperacion(true, 
+                "Mostrando " + pagina.getAlumnos().size() + " alumno(s)", pagina);
+        
+        } catch (IllegalArgumentException e) {
+            return new RespuestaOperacion(false, e.getMessage());
+        } catch (Exception e) {
+            return new RespuestaOperacion(false, 
+                "Error al obtener alumnos: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Obtener una página de resúmenes de alumnos (solo los datos de la lista)
+     * @param continuacion Token devuelto en la página anterior (null para la primera)
+     * @param tamanio Cantidad de alumnos por página
+     */
+    public RespuestaOperacion obtenerPaginaResumen(String continuacion, int tamanio) {
+        try {
+            PaginaResumen pagina = repositorio.obtenerPaginaResumen(continuacion, tamanio);
             
+            if (pagina.getAlumnos().isEmpty() && continuacion == null) {
+                return new RespuestaOperacion(false, 
+                    "No hay alumnos registrados en el sistema");
+            }
+            
+            return new RespuestaOperacion(true, 
+                "Mostrando " + pagina.getAlumnos().size() + " alumno(s)", pagina);
+        
+        } catch (IllegalArgumentException e) {
+            return new RespuestaOperacion(false, e.getMessage());
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al obtener alumnos: " + e.getMessage());
@@ -317,7 +419,7 @@ public class AlumnoController {
             return new RespuestaOperacion(true, 
                 "Se encontraron " + alumnos.size() + " alumno(s) en " + carrera, 
                 alumnos);
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al buscar por carrera: " + e.getMessage());
@@ -339,7 +441,7 @@ public class AlumnoController {
             return new RespuestaOperacion(true, 
                 "Se encontraron " + alumnos.size() + " alumno(s) " + estado.toLowerCase() + "(s)",
                 alumnos);
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al buscar por estado: " + e.getMessage());
@@ -352,21 +454,8 @@ public class AlumnoController {
      * Obtener estadísticas generales
      */
     public EstadisticasDTO obtenerEstadisticas() {
-        int total = repositorio.contarTotal();
-        int activos = repositorio.contarPorEstado("Activo");
-        int inactivos = repositorio.contarPorEstado("Inactivo");
-        int egresados = repositorio.contarPorEstado("Egresado");
-        int enRiesgo = repositorio.obtenerEnRiesgoAcademico().size();
-        
-        // Si usamos la implementación en memoria, podemos obtener más datos
-        double promedioGeneral = 0.0;
-        if (repositorio instanceof AlumnoRepositoryMemoria) {
-            AlumnoRepositoryMemoria repo = (AlumnoRepositoryMemoria) repositorio;
-            promedioGeneral = repo.obtenerEstadisticas().getPromedioGeneral();
-        }
-        
-        return new EstadisticasDTO(total, activos, inactivos, egresados, 
-                                  enRiesgo, promedioGeneral);
+        // Cada repositorio mantiene sus propios contadores
+        return repositorio.obtenerEstadisticas();
     }
     
     /**
@@ -384,7 +473,7 @@ public class AlumnoController {
             return new RespuestaOperacion(true, 
                 "Se encontraron " + alumnos.size() + " alumno(s) en riesgo académico",
                 alumnos);
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al obtener alumnos en riesgo: " + e.getMessage());
@@ -418,7 +507,7 @@ public class AlumnoController {
                 return new RespuestaOperacion(false, 
                     "No se pudo actualizar el estado");
             }
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al cambiar estado: " + e.getMessage());
@@ -455,13 +544,175 @@ public class AlumnoController {
                 return new RespuestaOperacion(false, 
                     "No se pudo actualizar el promedio");
             }
-            
+        
         } catch (Exception e) {
             return new RespuestaOperacion(false, 
                 "Error al actualizar promedio: " + e.getMessage());
         }
     }
     
+    /**
+     * Registrar varios alumnos en una sola operación del repositorio
+     * (por ejemplo, una importación). Cada alumno se valida y guarda por separado;
+     * los datos incluyen la lista de resultados, en el mismo orden.
+     */
+    public RespuestaOperacion crearAlumnosLote(List<Alumno> alumnos) {
+        try {
+            if (alumnos == null || alumnos.isEmpty()) {
+                return new RespuestaOperacion(false, "No hay alumnos para registrar");
+            }
+            
+            // Cada alumno pasa las mismas validaciones que en crearAlumno; los
+            // rechazados quedan en false y no llegan al repositorio
+            List<Boolean> resultados = new ArrayList<>(Collections.nCopies(alumnos.size(), false));
+            List<Alumno> validos = new ArrayList<>();
+            List<Integer> posiciones = new ArrayList<>();
+            for (int i = 0; i < alumnos.size(); i++) {
+                Alumno a = alumnos.get(i);
+                if (a == null || a.getEstadoAlumno() == null) {
+                    continue;
+                }
+                String error = validarAlumnoNuevo(a.getCodigoAlumno(), a.getNombre(), a.getApellido(),
+                                                  a.getDni(), a.getFechaNacimiento(), a.getEmail(),
+                                                  a.getCarrera(), a.getCiclo(), a.getPromedio(),
+                                                  a.getFechaIngreso());
+                if (error != null) {
+                    continue;
+                }
+                validos.add(construirAlumnoNuevo(a.getCodigoAlumno(), a.getNombre(), a.getApellido(),
+                                                 a.getDni(), a.getFechaNacimiento(), a.getDireccion(),
+                                                 a.getTelefono(), a.getEmail(), a.getCarrera(),
+                                                 a.getCiclo(), a.getPromedio(), a.getEstado(),
+                                                 a.getFechaIngreso(), a.getCreditosAcumulados()));
+                posiciones.add(i);
+            }
+            
+            if (!validos.isEmpty()) {
+                List<Boolean> guardados = repositorio.guardarLote(validos);
+                for (int j = 0; j < posiciones.size(); j++) {
+                    resultados.set(posiciones.get(j), guardados.get(j));
+                }
+            }
+            long registrados = resultados.stream().filter(r -> r).count();
+            
+            return new RespuestaOperacion(registrados > 0,
+                String.format("%d de %d alumnos registrados", registrados, alumnos.size()),
+                resultados);
+        
+        } catch (Exception e) {
+            return new RespuestaOperacion(false, 
+                "Error al registrar alumnos: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Actualizar el promedio de varios alumnos (codigoAlumno -> nuevo promedio)
+     * con una sola lectura y una sola escritura por lote. Los datos incluyen un
+     * mapa codigoAlumno -> resultado.
+     */
+    public RespuestaOperacion actualizarPromediosLote(Map<String, Double> promedios) {
+        try {
+            if (promedios == null || promedios.isEmpty()) {
+                return new RespuestaOperacion(false, "No hay promedios para actualizar");
+            }
+            
+            Map<String, Boolean> resultados = new LinkedHashMap<>();
+            List<String> codigos = new ArrayList<>();
+            for (Map.Entry<String, Double> e : promedios.entrySet()) {
+                // Conserva el orden de entrada; el resultado real se asigna después
+                resultados.put(e.getKey(), false);
+                Double nuevoPromedio = e.getValue();
+                // Así escrito, NaN tampoco pasa
+                if (nuevoPromedio != null && nuevoPromedio >= 0 && nuevoPromedio <= 20) {
+                    codigos.add(e.getKey());
+                }
+            }
+            
+            Map<String, Alumno> encontrados = repositorio.buscarPorCodigos(codigos);
+            List<Alumno> alumnos = new ArrayList<>();
+            for (String codigo : codigos) {
+                Alumno alumno = encontrados.get(codigo);
+                if (alumno != null) {
+                    alumno.actualizarPromedio(promedios.get(codigo));
+                    alumnos.add(alumno);
+                }
+            }
+            
+            List<Boolean> actualizados = repositorio.actualizarLote(alumnos);
+            for (int i = 0; i < alumnos.size(); i++) {
+                resultados.put(alumnos.get(i).getCodigoAlumno(), actualizados.get(i));
+            }
+            
+            long exitosos = actualizados.stream().filter(r -> r).count();
+            return new RespuestaOperacion(exitosos > 0,
+                String.format("%d de %d promedios actualizados", exitosos, promedios.size()),
+                resultados);
+        
+        } catch (Exception e) {
+            return new RespuestaOperacion(false, 
+                "Error al actualizar promedios: " + e.getMessage());
+        }
+    }
+    
+    // ==================== VALIDACIÓN ====================
+    
+    // Mensaje del primer dato inválido de un alumno nuevo, o null si todo es válido
+    private String validarAlumnoNuevo(String codigoAlumno, String nombre, String apellido,
+                                      String dni, String fechaNacimiento, String email,
+                                      String carrera, int ciclo, double promedio, String fechaIngreso) {
+        if (codigoAlumno == null || codigoAlumno.trim().isEmpty()) {
+            return "El código de alumno es obligatorio";
+        }
+        
+        if (nombre == null || nombre.trim().isEmpty()) {
+            return "El nombre es obligatorio";
+        }
+        
+        if (apellido == null || apellido.trim().isEmpty()) {
+            return "El apellido es obligatorio";
+        }
+        
+        if (dni == null || !dni.matches("\\d{8}")) {
+            return "El DNI debe tener 8 dígitos";
+        }
+        
+        if (email == null || !email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
+            return "El email no tiene un formato válido";
+        }
+        
+        if (carrera == null || carrera.trim().isEmpty()) {
+            return "La carrera es obligatoria";
+        }
+        
+        if (ciclo < 1 || ciclo > 12) {
+            return "El ciclo debe estar entre 1 y 12";
+        }
+        
+        if (promedio < 0 || promedio > 20) {
+            return "El promedio debe estar entre 0 y 20";
+        }
+        
+        if (!FechaCompacta.esValida(fechaNacimiento) || !FechaCompacta.esValida(fechaIngreso)) {
+            return "Las fechas deben tener el formato YYYY-MM-DD";
+        }
+        
+        return null;
+    }
+    
+    // Alumno con los datos ya validados y normalizados (espacios, mayúsculas del código)
+    private Alumno construirAlumnoNuevo(String codigoAlumno, String nombre, String apellido,
+                                        String dni, String fechaNacimiento, String direccion,
+                                        String telefono, String email, String carrera, int ciclo,
+                                        double promedio, String estado, String fechaIngreso,
+                                        int creditos) {
+        return new Alumno(
+            nombre.trim(), apellido.trim(), dni.trim(), fechaNacimiento,
+            direccion, telefono, email.trim().toLowerCase(),
+            codigoAlumno.trim().toUpperCase(), carrera.trim(), ciclo, 
+            promedio, estado, fechaIngreso, creditos
+        );
+    }
+    
     /**
      * Obtener información de la fuente de datos
      */
@@ -0,0 +1,203 @@
+package src.main;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import src.modelo.*;
+import src.repositorio.*;
+
+/**
+ * Prueba de estrés de AlumnoRepositoryConcurrente
+ *
+ * Varios hilos insertan, actualizan (también el DNI) y eliminan alumnos a la
+ * vez sobre pocos códigos y todavía menos DNIs, para forzar los choques; otro
+ * hilo lee mientras tanto. Al terminar se verifica:
+ * - que no haya códigos ni DNIs repetidos
+ * - que obtenerTodos(), contarTotal(), las estadísticas y la paginación den
+ *   el mismo total
+ * - que el total sea el inicial más las altas y menos las bajas exitosas
+ * - que no se pierdan actualizaciones: cada hilo suma créditos a sus propios
+ *   alumnos, que comparten franjas de candado con los de los demás
+ *
+ * Uso: java src.main.PruebaEstresConcurrente [hilos] [operacionesPorHilo]
+ * Termina con código 1 si alguna verificación falla.
+ */
+public class PruebaEstresConcurrente {
+    
+    private static final int CODIGOS = 2_000;
+    private static final int DNIS = 1_500;
+    private static final int PROPIOS_POR_HILO = 4;
+    
+    public static void main(String[] args) throws InterruptedException {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int operaciones = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        
+        AlumnoRepositoryConcurrente repositorio = AlumnoRepositoryConcurrente.getInstancia();
+        int inicial = repositorio.contarTotal();
+        
+        // Alumnos propios de cada hilo, para contar sus actualizaciones
+        for (int h = 0; h < hilos; h++) {
+            for (int k = 0; k < PROPIOS_POR_HILO; k++) {
+                repositorio.guardar(crearAlumno(codigoPropio(h, k), String.format("71%03d%03d", h, k), 0));
+            }
+        }
+        
+        AtomicInteger altas = new AtomicInteger();
+        AtomicInteger bajas = new AtomicInteger();
+        AtomicInteger cambios = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean escribiendo = new AtomicBoolean(true);
+        CountDownLatch largada = new CountDownLatch(1);
+        int incrementosPorAlumno = operaciones / 10 / PROPIOS_POR_HILO;
+        
+        List<Thread> escritores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            escritores.add(new Thread(() -> {
+                try {
+                    largada.await();
+                    ThreadLocalRandom azar = ThreadLocalRandom.current();
+                    int incrementos = 0;
+                    for (int i = 0; i < operaciones; i++) {
+                        // Uno de cada diez: sumar un crédito a un alumno propio
+                        if (i % 10 == 0 && incrementos < incrementosPorAlumno * PROPIOS_POR_HILO) {
+                            String codigo = codigoPropio(hilo, incrementos % PROPIOS_POR_HILO);
+                            Alumno propio = repositorio.buscarPorCodigo(codigo).get();
+                            propio.setCreditosAcumulados(propio.getCreditosAcumulados() + 1);
+                            if (!repositorio.actualizar(propio)) {
+                                throw new IllegalStateException("No se pudo actualizar " + codigo);
+                            }
+                            incrementos++;
+                            continue;
+                        }
+                        
+                        String codigo = String.format("E%04d", azar.nextInt(CODIGOS));
+                        String dni = String.format("70%06d", azar.nextInt(DNIS));
+                        int operacion = azar.nextInt(10);
+                        if (operacion < 5) {
+                            if (repositorio.guardar(crearAlumno(codigo, dni, azar.nextDouble(0, 20)))) {
+                                altas.incrementAndGet();
+                            }
+                        } else if (operacion < 8) {
+                            // Como AlumnoController: modificar lo leído y actualizar
+                            Optional<Alumno> actual = repositorio.buscarPorCodigo(codigo);
+                            if (actual.isPresent()) {
+                                actual.get().setDni(dni);
+                                actual.get().setPromedio(azar.nextDouble(0, 20));
+                                if (repositorio.actualizar(actual.get())) {
+                                    cambios.incrementAndGet();
+                                }
+                            }
+                        } else if (repositorio.eliminar(codigo)) {
+                            bajas.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                }
+            }, "escritor-" + h));
+        }
+        
+        // Lector concurrente: no debe fallar mientras los demás escriben
+        Thread lector = new Thread(() -> {
+            try {
+                largada.await();
+                while (escribiendo.get()) {
+                    repositorio.obtenerTodos().forEach(Alumno::getDni);
+                    repositorio.buscarPorNombre("Estres");
+                    repositorio.obtenerEstadisticas();
+                }
+            } catch (Throwable e) {
+                error.compareAndSet(null, e);
+            }
+        }, "lector");
+        
+        escritores.forEach(Thread::start);
+        lector.start();
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+        escribiendo.set(false);
+        lector.join();
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+        
+        System.out.println(String.format("%d hilos x %d operaciones en %d ms: %d altas, %d bajas, %d cambios",
+                                         hilos, operaciones, milisegundos, altas.get(), bajas.get(), cambios.get()));
+        
+        List<String> fallas = new ArrayList<>();
+        if (error.get() != null) {
+            fallas.add("Excepción durante la prueba: " + error.get());
+        }
+        
+        List<Alumno> todos = repositorio.obtenerTodos();
+        Set<String> codigos = new HashSet<>();
+        Set<String> dnis = new HashSet<>();
+        for (Alumno alumno : todos) {
+            if (!codigos.add(alumno.getCodigoAlumno())) {
+                fallas.add("Código repetido: " + alumno.getCodigoAlumno());
+            }
+            if (!dnis.add(alumno.getDni())) {
+                fallas.add("DNI repetido: " + alumno.getDni());
+            }
+        }
+        
+        int total = repositorio.contarTotal();
+        int esperado = inicial + hilos * PROPIOS_POR_HILO + altas.get() - bajas.get();
+        if (todos.size() != total) {
+            fallas.add("obtenerTodos() tiene " + todos.size() + " alumnos y contarTotal() " + total);
+        }
+        if (total != esperado) {
+            fallas.add("Total " + total + ", esperado " + esperado + " (inicial + altas - bajas)");
+        }
+        if (repositorio.obtenerEstadisticas().getTotal() != total) {
+            fallas.add("Las estadísticas tienen " + repositorio.obtenerEstadisticas().getTotal() +
+                       " alumnos y contarTotal() " + total);
+        }
+        int paginados = 0;
+        String continuacion = null;
+        do {
+            PaginaAlumnos pagina = repositorio.obtenerPagina(continuacion, 100);
+            paginados += pagina.getAlumnos().size();
+            continuacion = pagina.getSiguiente();
+        } while (continuacion != null);
+        if (paginados != total) {
+            fallas.add("La paginación recorre " + paginados + " alumnos y contarTotal() " + total);
+        }
+        
+        for (int h = 0; h < hilos; h++) {
+            for (int k = 0; k < PROPIOS_POR_HILO; k++) {
+                int creditos = repositorio.buscarPorCodigo(codigoPropio(h, k)).get().getCreditosAcumulados();
+                if (creditos != incrementosPorAlumno) {
+                    fallas.add("Actualizaciones perdidas en " + codigoPropio(h, k) + ": " +
+                               creditos + " de " + incrementosPorAlumno);
+                }
+            }
+        }
+        
+        if (fallas.isEmpty()) {
+            System.out.println("✓ Sin duplicados ni actualizaciones perdidas; total " + total);
+        } else {
+            fallas.forEach(f -> System.out.println("✗ " + f));
+        }
+        System.exit(fallas.isEmpty() ? 0 : 1);
+    }
+    
+    private static String codigoPropio(int hilo, int indice) {
+        return String.format("P%03d%02d", hilo, indice);
+    }
+    
+    private static Alumno crearAlumno(String codigo, String dni, double promedio) {
+        return new Alumno("Prueba", "Estres", dni, "2000-01-01", "", "", "estres@sideral.edu.pe",
+                          codigo, "Ingeniería de Sistemas", 1 + (int) (promedio / 2),
+                          Math.round(promedio * 100) / 100.0, "Activo", "2020-03-01", 0);
+    }
+}
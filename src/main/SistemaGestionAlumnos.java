@@ -2,12 +2,15 @@ package src.main;
 
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 import src.controlador.*;
 import src.modelo.*;
 import src.servicio.*;
 
 public class SistemaGestionAlumnos {
     
+    private static final int ALUMNOS_POR_PAGINA = 20;
+    
     private static AlumnoController controller;
     private static AlumnoService service;
     private static Scanner scanner;
@@ -285,12 +288,12 @@ public class SistemaGestionAlumnos {
             case 2:
                 System.out.print("Ingrese nombre o apellido: ");
                 String nombre = scanner.nextLine().trim();
-                RespuestaOperacion resp2 = controller.buscarPorNombre(nombre);
+                RespuestaOperacion resp2 = controller.buscarResumenPorNombre(nombre);
                 System.out.println("\n" + resp2);
                 if (resp2.isExito()) {
                     @SuppressWarnings("unchecked")
-                    List<Alumno> alumnos = (List<Alumno>) resp2.getDatos();
-                    mostrarListaAlumnos(alumnos);
+                    List<AlumnoResumen> alumnos = (List<AlumnoResumen>) resp2.getDatos();
+                    mostrarListaResumen(alumnos);
                 }
                 break;
                 
@@ -350,14 +353,26 @@ public class SistemaGestionAlumnos {
         System.out.println("          📋 LISTA DE TODOS LOS ALUMNOS");
         System.out.println("=".repeat(50));
         
-        RespuestaOperacion respuesta = controller.obtenerTodos();
-        System.out.println("\n" + respuesta);
-        
-        if (respuesta.isExito()) {
-            @SuppressWarnings("unchecked")
-            List<Alumno> alumnos = (List<Alumno>) respuesta.getDatos();
-            mostrarListaAlumnos(alumnos);
-        }
+        // Se muestra página por página, sin cargar la lista completa
+        String continuacion = null;
+        do {
+            RespuestaOperacion respuesta = controller.obtenerPaginaResumen(continuacion, ALUMNOS_POR_PAGINA);
+            System.out.println("\n" + respuesta);
+            if (!respuesta.isExito()) {
+                return;
+            }
+            
+            PaginaResumen pagina = respuesta.getDatosComoTipo(PaginaResumen.class);
+            mostrarListaResumen(pagina.getAlumnos());
+            continuacion = pagina.getSiguiente();
+            
+            if (continuacion != null) {
+                System.out.print("\nPresione Enter para ver más (o 'q' para terminar): ");
+                if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                    return;
+                }
+            }
+        } while (continuacion != null);
     }
     
     // ==================== OPERACIÓN 6: ESTADÍSTICAS ====================
@@ -497,12 +512,16 @@ public class SistemaGestionAlumnos {
     // ==================== MÉTODOS AUXILIARES ====================
     
     private static void mostrarListaAlumnos(List<Alumno> alumnos) {
+        mostrarListaResumen(alumnos.stream().map(AlumnoResumen::desde).collect(Collectors.toList()));
+    }
+    
+    private static void mostrarListaResumen(List<AlumnoResumen> alumnos) {
         System.out.println("\n" + "-".repeat(80));
         System.out.printf("%-10s %-25s %-10s %-8s %-12s %-10s\n",
                 "Código", "Nombre Completo", "DNI", "Ciclo", "Promedio", "Estado");
         System.out.println("-".repeat(80));
         
-        for (Alumno a : alumnos) {
+        for (AlumnoResumen a : alumnos) {
             System.out.printf("%-10s %-25s %-10s %-8d %-12.2f %-10s\n",
                     a.getCodigoAlumno(),
                     truncarTexto(a.getNombreCompleto(), 25),
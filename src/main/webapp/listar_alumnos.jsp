@@ -1,9 +1,10 @@
 <%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
 <%@ page import="java.util.List" %>
-<%@ page import="src.modelo.Alumno" %>
+<%@ page import="src.modelo.AlumnoResumen" %>
 <%
-    List<Alumno> alumnos = (List<Alumno>) request.getAttribute("alumnos");
+    List<AlumnoResumen> alumnos = (List<AlumnoResumen>) request.getAttribute("alumnos");
     String error = (String) request.getAttribute("error");
+    String siguiente = (String) request.getAttribute("siguiente");
     String mensaje = (String) request.getParameter("mensaje");
 %>
 <!DOCTYPE html>
@@ -94,7 +95,7 @@
                         </thead>
                         <tbody>
                             <% if (alumnos != null && !alumnos.isEmpty()) {
-                                for (Alumno a : alumnos) { %>
+                                for (AlumnoResumen a : alumnos) { %>
                                 <tr>
                                     <td><%= a.getCodigoAlumno() %></td>
                                     <td><%= a.getNombreCompleto() %></td>
@@ -116,6 +117,14 @@
                             <% } %>
                         </tbody>
                     </table>
+
+                    <br>
+                    <% if (request.getParameter("desde") != null) { %>
+                        <a href="alumnos?action=listar" class="action-button tertiary">Primera página</a>
+                    <% } %>
+                    <% if (siguiente != null) { %>
+                        <a href="alumnos?action=listar&desde=<%= siguiente %>" class="action-button tertiary">Página siguiente</a>
+                    <% } %>
                 </div>
             </div>
         </main>
@@ -2,17 +2,18 @@ package src.modelo;
 
 public class Alumno extends Persona {
     private String codigoAlumno;
-    private String carrera;
+    private String carrera; // instancia compartida (DiccionarioCadenas)
     private int ciclo;
     private double promedio;
-    private String estado; // Activo, Inactivo, Egresado, Retirado
-    private String fechaIngreso;
+    private EstadoAlumno estado;
+    private int fechaIngreso; // días desde 1970-01-01 (ver FechaCompacta)
     private int creditosAcumulados;
 
     // Constructor vacío
     public Alumno() {
         super();
-        this.estado = "Activo";
+        this.estado = EstadoAlumno.ACTIVO;
+        this.fechaIngreso = FechaCompacta.SIN_FECHA;
         this.creditosAcumulados = 0;
     }
 
@@ -21,10 +22,11 @@ public class Alumno extends Persona {
                   String carrera, String email) {
         super(nombre, apellido, dni, "", "", "", email);
         this.codigoAlumno = codigoAlumno;
-        this.carrera = carrera;
+        this.carrera = DiccionarioCadenas.carrera(carrera);
         this.ciclo = 1;
         this.promedio = 0.0;
-        this.estado = "Activo";
+        this.estado = EstadoAlumno.ACTIVO;
+        this.fechaIngreso = FechaCompacta.SIN_FECHA;
         this.creditosAcumulados = 0;
     }
 
@@ -35,14 +37,33 @@ public class Alumno extends Persona {
                   String estado, String fechaIngreso, int creditosAcumulados) {
         super(nombre, apellido, dni, fechaNacimiento, direccion, telefono, email);
         this.codigoAlumno = codigoAlumno;
-        this.carrera = carrera;
+        this.carrera = DiccionarioCadenas.carrera(carrera);
         this.ciclo = ciclo;
         this.promedio = promedio;
-        this.estado = estado;
-        this.fechaIngreso = fechaIngreso;
+        this.estado = EstadoAlumno.desdeNombre(estado);
+        this.fechaIngreso = FechaCompacta.codificar(fechaIngreso);
         this.creditosAcumulados = creditosAcumulados;
     }
 
+    // Constructor de copia (copia los campos ya codificados, sin volver a convertirlos)
+    public Alumno(Alumno otro) {
+        super();
+        this.nombre = otro.nombre;
+        this.apellido = otro.apellido;
+        this.dni = otro.dni;
+        this.fechaNacimiento = otro.fechaNacimiento;
+        this.direccion = otro.direccion;
+        this.telefono = otro.telefono;
+        this.email = otro.email;
+        this.codigoAlumno = otro.codigoAlumno;
+        this.carrera = otro.carrera;
+        this.ciclo = otro.ciclo;
+        this.promedio = otro.promedio;
+        this.estado = otro.estado;
+        this.fechaIngreso = otro.fechaIngreso;
+        this.creditosAcumulados = otro.creditosAcumulados;
+    }
+
     // Getters y Setters
     public String getCodigoAlumno() {
         return codigoAlumno;
@@ -57,7 +78,7 @@ public class Alumno extends Persona {
     }
 
     public void setCarrera(String carrera) {
-        this.carrera = carrera;
+        this.carrera = DiccionarioCadenas.carrera(carrera);
     }
 
     public int getCiclo() {
@@ -76,20 +97,29 @@ public class Alumno extends Persona {
         this.promedio = promedio;
     }
 
+    // Nombre del estado (null si se asignó un estado no válido)
     public String getEstado() {
-        return estado;
+        return estado != null ? estado.getNombre() : null;
     }
 
     public void setEstado(String estado) {
+        this.estado = EstadoAlumno.desdeNombre(estado);
+    }
+
+    public EstadoAlumno getEstadoAlumno() {
+        return estado;
+    }
+
+    public void setEstadoAlumno(EstadoAlumno estado) {
         this.estado = estado;
     }
 
     public String getFechaIngreso() {
-        return fechaIngreso;
+        return FechaCompacta.decodificar(fechaIngreso);
     }
 
     public void setFechaIngreso(String fechaIngreso) {
-        this.fechaIngreso = fechaIngreso;
+        this.fechaIngreso = FechaCompacta.codificar(fechaIngreso);
     }
 
     public int getCreditosAcumulados() {
@@ -117,19 +147,20 @@ public class Alumno extends Persona {
         boolean datosAcademicosValidos = codigoAlumno != null && !codigoAlumno.trim().isEmpty() &&
                                         carrera != null && !carrera.trim().isEmpty() &&
                                         ciclo > 0 && ciclo <= 12 &&
-                                        promedio >= 0 && promedio <= 20;
+                                        promedio >= 0 && promedio <= 20 &&
+                                        estado != null;
 
         return datosPersonalesValidos && datosAcademicosValidos;
     }
 
     // Método para calcular si el alumno está en riesgo académico
     public boolean enRiesgoAcademico() {
-        return promedio < 11.0 && estado.equals("Activo");
+        return promedio < 11.0 && estado == EstadoAlumno.ACTIVO;
     }
 
     // Método para verificar si puede avanzar de ciclo
     public boolean puedeAvanzarCiclo() {
-        return promedio >= 13.0 && estado.equals("Activo") && ciclo < 12;
+        return promedio >= 13.0 && estado == EstadoAlumno.ACTIVO && ciclo < 12;
     }
 
     // Método para avanzar al siguiente ciclo
@@ -148,12 +179,9 @@ public class Alumno extends Persona {
 
     // Método para cambiar el estado del alumno
     public void cambiarEstado(String nuevoEstado) {
-        String[] estadosValidos = {"Activo", "Inactivo", "Egresado", "Retirado"};
-        for (String estado : estadosValidos) {
-            if (estado.equalsIgnoreCase(nuevoEstado)) {
-                this.estado = estado;
-                return;
-            }
+        EstadoAlumno estado = EstadoAlumno.desdeNombre(nuevoEstado);
+        if (estado != null) {
+            this.estado = estado;
         }
     }
 
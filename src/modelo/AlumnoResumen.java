@@ -0,0 +1,59 @@
+package src.modelo;
+
+/**
+ * Proyección liviana de un alumno para listados y resultados de búsqueda
+ * Solo tiene las columnas que se muestran en una fila de la lista; para ver o
+ * editar el alumno completo se busca por código
+ */
+public class AlumnoResumen {
+    private final String codigoAlumno;
+    private final String nombre;
+    private final String apellido;
+    private final String dni;
+    private final String carrera;
+    private final int ciclo;
+    private final double promedio;
+    private final EstadoAlumno estado;
+    
+    public AlumnoResumen(String codigoAlumno, String nombre, String apellido, String dni,
+                         String carrera, int ciclo, double promedio, String estado) {
+        this.codigoAlumno = codigoAlumno;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.dni = dni;
+        this.carrera = DiccionarioCadenas.carrera(carrera);
+        this.ciclo = ciclo;
+        this.promedio = promedio;
+        this.estado = EstadoAlumno.desdeNombre(estado);
+    }
+    
+    // Resumen de un alumno ya cargado
+    public static AlumnoResumen desde(Alumno alumno) {
+        return new AlumnoResumen(alumno.getCodigoAlumno(), alumno.getNombre(),
+                                 alumno.getApellido(), alumno.getDni(), alumno.getCarrera(),
+                                 alumno.getCiclo(), alumno.getPromedio(), alumno.getEstado());
+    }
+    
+    // Getters
+    public String getCodigoAlumno() { return codigoAlumno; }
+    public String getNombre() { return nombre; }
+    public String getApellido() { return apellido; }
+    public String getDni() { return dni; }
+    public String getCarrera() { return carrera; }
+    public int getCiclo() { return ciclo; }
+    public double getPromedio() { return promedio; }
+    
+    // Nombre del estado (null si no es válido)
+    public String getEstado() {
+        return estado != null ? estado.getNombre() : null;
+    }
+    
+    public String getNombreCompleto() {
+        return nombre + " " + apellido;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s - %s (%s)", codigoAlumno, getNombreCompleto(), getEstado());
+    }
+}
@@ -0,0 +1,44 @@
+package src.modelo;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario compartido de cadenas con pocos valores distintos (carreras)
+ * Todos los alumnos de una misma carrera apuntan a la misma instancia de String
+ * en lugar de guardar cada uno su propia copia
+ *
+ * La carrera llega desde formularios y archivos importados, así que el
+ * diccionario tiene un tope: una vez lleno, las carreras nuevas se devuelven
+ * tal cual (sin compartir) en vez de hacerlo crecer sin límite
+ */
+public final class DiccionarioCadenas {
+    
+    private static final int MAXIMO_CARRERAS = 256;
+    
+    private static final ConcurrentHashMap<String, String> CARRERAS = new ConcurrentHashMap<>();
+    
+    private DiccionarioCadenas() {
+    }
+    
+    // Devuelve la instancia compartida de la carrera, o la misma cadena si el diccionario está lleno
+    public static String carrera(String carrera) {
+        if (carrera == null) {
+            return null;
+        }
+        String existente = CARRERAS.get(carrera);
+        if (existente != null) {
+            return existente;
+        }
+        // El tope puede excederse por unas pocas entradas si varios hilos llegan a la vez
+        if (CARRERAS.size() >= MAXIMO_CARRERAS) {
+            return carrera;
+        }
+        existente = CARRERAS.putIfAbsent(carrera, carrera);
+        return existente != null ? existente : carrera;
+    }
+    
+    // Cantidad de carreras distintas registradas
+    public static int cantidadCarreras() {
+        return CARRERAS.size();
+    }
+}
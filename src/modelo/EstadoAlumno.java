@@ -0,0 +1,38 @@
+package src.modelo;
+
+/**
+ * Estados posibles de un alumno
+ * Reemplaza el arreglo de cadenas que se validaba en Alumno.cambiarEstado
+ */
+public enum EstadoAlumno {
+    ACTIVO("Activo"),
+    INACTIVO("Inactivo"),
+    EGRESADO("Egresado"),
+    RETIRADO("Retirado");
+    
+    private final String nombre;
+    
+    EstadoAlumno(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    // Nombre tal como se muestra y se guarda en la base de datos
+    public String getNombre() {
+        return nombre;
+    }
+    
+    // Busca el estado por nombre sin distinguir mayúsculas; null si no existe
+    public static EstadoAlumno desdeNombre(String nombre) {
+        for (EstadoAlumno estado : values()) {
+            if (estado.nombre.equalsIgnoreCase(nombre)) {
+                return estado;
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
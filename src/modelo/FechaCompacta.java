@@ -0,0 +1,44 @@
+package src.modelo;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversión entre fechas en texto (YYYY-MM-DD) y su forma compacta:
+ * un int con los días transcurridos desde 1970-01-01 (LocalDate.toEpochDay)
+ */
+public final class FechaCompacta {
+    
+    // Valor usado cuando no se registró la fecha
+    public static final int SIN_FECHA = Integer.MIN_VALUE;
+    
+    private FechaCompacta() {
+    }
+    
+    // Convierte "YYYY-MM-DD" a días; null o vacío -> SIN_FECHA
+    public static int codificar(String fecha) {
+        if (fecha == null || fecha.trim().isEmpty()) {
+            return SIN_FECHA;
+        }
+        try {
+            return (int) LocalDate.parse(fecha.trim()).toEpochDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Fecha inválida (use YYYY-MM-DD): " + fecha);
+        }
+    }
+    
+    // Convierte días a "YYYY-MM-DD"; SIN_FECHA -> cadena vacía
+    public static String decodificar(int dias) {
+        return dias == SIN_FECHA ? "" : LocalDate.ofEpochDay(dias).toString();
+    }
+    
+    // Verifica que la fecha esté vacía o tenga el formato YYYY-MM-DD
+    public static boolean esValida(String fecha) {
+        try {
+            codificar(fecha);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package src.modelo;
+
+/**
+ * Métricas del caché de lecturas del repositorio
+ */
+public class MetricasCache {
+    private int entradas;
+    private int alumnosEnCache;
+    private int capacidad;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long invalidaciones;
+    
+    public MetricasCache(int entradas, int alumnosEnCache, int capacidad, long aciertos,
+                         long fallos, long desalojos, long invalidaciones) {
+        this.entradas = entradas;
+        this.alumnosEnCache = alumnosEnCache;
+        this.capacidad = capacidad;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+        this.invalidaciones = invalidaciones;
+    }
+    
+    // Getters
+    public int getEntradas() { return entradas; }
+    public int getAlumnosEnCache() { return alumnosEnCache; }
+    public int getCapacidad() { return capacidad; }
+    public long getAciertos() { return aciertos; }
+    public long getFallos() { return fallos; }
+    public long getDesalojos() { return desalojos; }
+    public long getInvalidaciones() { return invalidaciones; }
+    
+    // Proporción de lecturas resueltas sin ir al repositorio delegado
+    public double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total > 0 ? (double) aciertos / total : 0.0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "=== CACHÉ DE LECTURAS ===\n" +
+            "Entradas: %d (%d / %d alumnos)\n" +
+            "├─ Aciertos: %d (%.1f%%)\n" +
+            "├─ Fallos: %d\n" +
+            "├─ Desalojos: %d\n" +
+            "└─ Invalidaciones: %d",
+            entradas, alumnosEnCache, capacidad,
+            aciertos, getTasaAciertos() * 100,
+            fallos,
+            desalojos,
+            invalidaciones
+        );
+    }
+}
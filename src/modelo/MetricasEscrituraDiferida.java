@@ -0,0 +1,62 @@
+package src.modelo;
+
+/**
+ * Métricas del buffer de escritura diferida del repositorio
+ */
+public class MetricasEscrituraDiferida {
+    private int pendientes;
+    private double retrasoActualMs;
+    private double retrasoMaximoMs;
+    private long recibidas;
+    private long combinadas;
+    private long vaciados;
+    private long filasEscritas;
+    private long fallidas;
+    private long reintentadas;
+    private long descartadas;
+    
+    public MetricasEscrituraDiferida(int pendientes, double retrasoActualMs, double retrasoMaximoMs,
+                                     long recibidas, long combinadas, long vaciados,
+                                     long filasEscritas, long fallidas, long reintentadas,
+                                     long descartadas) {
+        this.pendientes = pendientes;
+        this.retrasoActualMs = retrasoActualMs;
+        this.retrasoMaximoMs = retrasoMaximoMs;
+        this.recibidas = recibidas;
+        this.combinadas = combinadas;
+        this.vaciados = vaciados;
+        this.filasEscritas = filasEscritas;
+        this.fallidas = fallidas;
+        this.reintentadas = reintentadas;
+        this.descartadas = descartadas;
+    }
+    
+    // Getters
+    public int getPendientes() { return pendientes; }
+    public double getRetrasoActualMs() { return retrasoActualMs; }
+    public double getRetrasoMaximoMs() { return retrasoMaximoMs; }
+    public long getRecibidas() { return recibidas; }
+    public long getCombinadas() { return combinadas; }
+    public long getVaciados() { return vaciados; }
+    public long getFilasEscritas() { return filasEscritas; }
+    public long getFallidas() { return fallidas; }
+    public long getReintentadas() { return reintentadas; }
+    public long getDescartadas() { return descartadas; }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "=== ESCRITURA DIFERIDA ===\n" +
+            "Pendientes: %d (la más antigua hace %.1f ms)\n" +
+            "├─ Retraso máximo al escribir: %.1f ms\n" +
+            "├─ Actualizaciones recibidas: %d (combinadas: %d)\n" +
+            "├─ Vaciados: %d (%d filas escritas)\n" +
+            "└─ Escrituras fallidas: %d (reintentadas: %d, descartadas: %d)",
+            pendientes, retrasoActualMs,
+            retrasoMaximoMs,
+            recibidas, combinadas,
+            vaciados, filasEscritas,
+            fallidas, reintentadas, descartadas
+        );
+    }
+}
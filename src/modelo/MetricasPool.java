@@ -0,0 +1,83 @@
+package src.modelo;
+
+/**
+ * Métricas del pool de conexiones del repositorio MySQL
+ */
+public class MetricasPool {
+    private int activas;
+    private int inactivas;
+    private int maximo;
+    private long prestamos;
+    private double esperaPromedioMs;
+    private double esperaMaximaMs;
+    private long tiemposAgotados;
+    private long creadas;
+    private long descartadas;
+    private long fugasDetectadas;
+    private long sentenciasReutilizadas;
+    private long sentenciasPreparadas;
+    private long sentenciasDesalojadas;
+    
+    public MetricasPool(int activas, int inactivas, int maximo, long prestamos,
+                        double esperaPromedioMs, double esperaMaximaMs, long tiemposAgotados,
+                        long creadas, long descartadas, long fugasDetectadas,
+                        long sentenciasReutilizadas, long sentenciasPreparadas,
+                        long sentenciasDesalojadas) {
+        this.activas = activas;
+        this.inactivas = inactivas;
+        this.maximo = maximo;
+        this.prestamos = prestamos;
+        this.esperaPromedioMs = esperaPromedioMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.tiemposAgotados = tiemposAgotados;
+        this.creadas = creadas;
+        this.descartadas = descartadas;
+        this.fugasDetectadas = fugasDetectadas;
+        this.sentenciasReutilizadas = sentenciasReutilizadas;
+        this.sentenciasPreparadas = sentenciasPreparadas;
+        this.sentenciasDesalojadas = sentenciasDesalojadas;
+    }
+    
+    // Getters
+    public int getActivas() { return activas; }
+    public int getInactivas() { return inactivas; }
+    public int getMaximo() { return maximo; }
+    public long getPrestamos() { return prestamos; }
+    public double getEsperaPromedioMs() { return esperaPromedioMs; }
+    public double getEsperaMaximaMs() { return esperaMaximaMs; }
+    public long getTiemposAgotados() { return tiemposAgotados; }
+    public long getCreadas() { return creadas; }
+    public long getDescartadas() { return descartadas; }
+    public long getFugasDetectadas() { return fugasDetectadas; }
+    public long getSentenciasReutilizadas() { return sentenciasReutilizadas; }
+    public long getSentenciasPreparadas() { return sentenciasPreparadas; }
+    public long getSentenciasDesalojadas() { return sentenciasDesalojadas; }
+    
+    // Proporción de prepareStatement resueltos desde el caché
+    public double getTasaAciertosSentencias() {
+        long total = sentenciasReutilizadas + sentenciasPreparadas;
+        return total > 0 ? (double) sentenciasReutilizadas / total : 0.0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "=== POOL DE CONEXIONES ===\n" +
+            "Activas: %d / %d (inactivas: %d)\n" +
+            "├─ Préstamos: %d\n" +
+            "├─ Espera promedio: %.3f ms (máxima: %.3f ms)\n" +
+            "├─ Tiempos agotados: %d\n" +
+            "├─ Conexiones creadas: %d (descartadas: %d)\n" +
+            "├─ Posibles fugas: %d\n" +
+            "└─ Caché de sentencias: %.1f%% aciertos (%d reutilizadas, %d preparadas, %d desalojadas)",
+            activas, maximo, inactivas,
+            prestamos,
+            esperaPromedioMs, esperaMaximaMs,
+            tiemposAgotados,
+            creadas, descartadas,
+            fugasDetectadas,
+            getTasaAciertosSentencias() * 100, sentenciasReutilizadas,
+            sentenciasPreparadas, sentenciasDesalojadas
+        );
+    }
+}
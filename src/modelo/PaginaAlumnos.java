@@ -0,0 +1,30 @@
+package src.modelo;
+
+import java.util.List;
+
+/**
+ * Página de alumnos ordenada por (apellido, nombre, código)
+ * El token de continuación es opaco: se pasa tal cual para pedir la página siguiente
+ */
+public class PaginaAlumnos {
+    private List<Alumno> alumnos;
+    private String siguiente;
+    
+    public PaginaAlumnos(List<Alumno> alumnos, String siguiente) {
+        this.alumnos = alumnos;
+        this.siguiente = siguiente;
+    }
+    
+    public List<Alumno> getAlumnos() {
+        return alumnos;
+    }
+    
+    // Token de la página siguiente, o null si esta es la última
+    public String getSiguiente() {
+        return siguiente;
+    }
+    
+    public boolean hayMas() {
+        return siguiente != null;
+    }
+}
@@ -0,0 +1,29 @@
+package src.modelo;
+
+import java.util.List;
+
+/**
+ * Página de resúmenes de alumnos, con el mismo orden y token que PaginaAlumnos
+ */
+public class PaginaResumen {
+    private List<AlumnoResumen> alumnos;
+    private String siguiente;
+    
+    public PaginaResumen(List<AlumnoResumen> alumnos, String siguiente) {
+        this.alumnos = alumnos;
+        this.siguiente = siguiente;
+    }
+    
+    public List<AlumnoResumen> getAlumnos() {
+        return alumnos;
+    }
+    
+    // Token de la página siguiente, o null si esta es la última
+    public String getSiguiente() {
+        return siguiente;
+    }
+    
+    public boolean hayMas() {
+        return siguiente != null;
+    }
+}
@@ -3,13 +3,14 @@ public abstract class Persona {
     protected String nombre;
     protected String apellido;
     protected String dni;
-    protected String fechaNacimiento;
+    protected int fechaNacimiento; // días desde 1970-01-01 (ver FechaCompacta)
     protected String direccion;
     protected String telefono;
     protected String email;
 
     // Constructor vacío
     public Persona() {
+        this.fechaNacimiento = FechaCompacta.SIN_FECHA;
     }
 
     // Constructor con parámetros
@@ -18,7 +19,7 @@ public abstract class Persona {
         this.nombre = nombre;
         this.apellido = apellido;
         this.dni = dni;
-        this.fechaNacimiento = fechaNacimiento;
+        this.fechaNacimiento = FechaCompacta.codificar(fechaNacimiento);
         this.direccion = direccion;
         this.telefono = telefono;
         this.email = email;
@@ -50,11 +51,11 @@ public abstract class Persona {
     }
 
     public String getFechaNacimiento() {
-        return fechaNacimiento;
+        return FechaCompacta.decodificar(fechaNacimiento);
     }
 
     public void setFechaNacimiento(String fechaNacimiento) {
-        this.fechaNacimiento = fechaNacimiento;
+        this.fechaNacimiento = FechaCompacta.codificar(fechaNacimiento);
     }
 
     public String getDireccion() {
@@ -94,7 +95,7 @@ public abstract class Persona {
                 "nombre='" + nombre + '\'' +
                 ", apellido='" + apellido + '\'' +
                 ", dni='" + dni + '\'' +
-                ", fechaNacimiento='" + fechaNacimiento + '\'' +
+                ", fechaNacimiento='" + getFechaNacimiento() + '\'' +
                 ", direccion='" + direccion + '\'' +
                 ", telefono='" + telefono + '\'' +
                 ", email='" + email + '\'' +
@@ -0,0 +1,12 @@
+package src.modelo;
+
+/**
+ * Resultado de registrar un alumno nuevo en el repositorio
+ */
+public enum ResultadoRegistro {
+    REGISTRADO,
+    CODIGO_DUPLICADO,
+    DNI_DUPLICADO,
+    // Datos inválidos o error del origen de datos
+    RECHAZADO
+}
@@ -0,0 +1,36 @@
+package src.repositorio;
+
+import src.modelo.*;
+
+/**
+ * Calcula las estadísticas en una sola pasada sobre los alumnos
+ */
+final class AcumuladorEstadisticas {
+    private int total;
+    private int activos;
+    private int inactivos;
+    private int egresados;
+    private int enRiesgo;
+    private double sumaPromediosActivos;
+    
+    void agregar(Alumno alumno) {
+        EstadoAlumno estado = alumno.getEstadoAlumno();
+        total++;
+        if (estado == EstadoAlumno.ACTIVO) {
+            activos++;
+            sumaPromediosActivos += alumno.getPromedio();
+            if (alumno.enRiesgoAcademico()) {
+                enRiesgo++;
+            }
+        } else if (estado == EstadoAlumno.INACTIVO) {
+            inactivos++;
+        } else if (estado == EstadoAlumno.EGRESADO) {
+            egresados++;
+        }
+    }
+    
+    EstadisticasDTO resultado() {
+        double promedioGeneral = activos > 0 ? sumaPromediosActivos / activos : 0.0;
+        return new EstadisticasDTO(total, activos, inactivos, egresados, enRiesgo, promedioGeneral);
+    }
+}
@@ -0,0 +1,227 @@
+package src.repositorio;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import src.modelo.*;
+
+/**
+ * Repositorio asíncrono: ejecuta las operaciones de un IAlumnoRepository en
+ * otros hilos y devuelve CompletableFuture
+ *
+ * Con Java 21 o superior cada operación corre en un hilo virtual, así que
+ * esperar a la base de datos no ocupa un hilo del sistema. En versiones
+ * anteriores se usa un pool de hilos de plataforma.
+ *
+ * Cada repositorio admite como máximo una cantidad fija de operaciones a la
+ * vez; las demás esperan en cola, sin ocupar hilo, a que termine alguna. Así
+ * las consultas en paralelo no agotan el pool de conexiones de MySQL. Sobre un
+ * repositorio que no es seguro para hilos (AlumnoRepositoryMemoria) el límite
+ * es una: las operaciones salen del hilo de quien llama, pero de a una.
+ */
+public class AlumnoRepositoryAsync implements IAlumnoRepositoryAsync {
+    
+    // Operaciones simultáneas por repositorio seguro para hilos (el tamaño del
+    // pool de MySQL)
+    private static final int CONCURRENCIA_POR_DEFECTO = 10;
+    
+    private static final Executor HILOS = crearHilos();
+    
+    // Una instancia por repositorio, para que todos compartan el mismo límite
+    private static final Map<IAlumnoRepository, AlumnoRepositoryAsync> instancias = new IdentityHashMap<>();
+    
+    private final IAlumnoRepository repositorio;
+    private final Executor ejecutor;
+    
+    /**
+     * @param repositorio Repositorio que ejecuta las operaciones
+     * @param concurrencia Operaciones simultáneas como máximo; más de una solo
+     *        si el repositorio es seguro para hilos
+     */
+    public AlumnoRepositoryAsync(IAlumnoRepository repositorio, int concurrencia) {
+        if (concurrencia < 1) {
+            throw new IllegalArgumentException("La concurrencia debe ser positiva");
+        }
+        if (concurrencia > 1 && !repositorio.seguroParaHilos()) {
+            throw new IllegalArgumentException(
+                "El repositorio " + repositorio.obtenerFuenteDatos() + " no admite operaciones simultáneas");
+        }
+        this.repositorio = repositorio;
+        this.ejecutor = new EjecutorLimitado(HILOS, concurrencia);
+    }
+    
+    // Método para obtener la instancia compartida de un repositorio; de a una
+    // operación si el repositorio no es seguro para hilos
+    public static synchronized AlumnoRepositoryAsync de(IAlumnoRepository repositorio) {
+        return instancias.computeIfAbsent(repositorio,
+                r -> new AlumnoRepositoryAsync(r, r.seguroParaHilos() ? CONCURRENCIA_POR_DEFECTO : 1));
+    }
+    
+    // Hilos virtuales si la JVM los tiene (Java 21+); se buscan por reflexión
+    // para que el código compile también con versiones anteriores
+    private static Executor crearHilos() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(tarea -> {
+                Thread hilo = new Thread(tarea, "repositorio-async");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+    }
+    
+    // Hilos compartidos para otras tareas en segundo plano del paquete
+    static Executor hilos() {
+        return HILOS;
+    }
+    
+    private <T> CompletableFuture<T> ejecutar(Supplier<T> operacion) {
+        return CompletableFuture.supplyAsync(operacion, ejecutor);
+    }
+    
+    // ==================== ESCRITURAS ====================
+    
+    @Override
+    public CompletableFuture<Boolean> guardar(Alumno alumno) {
+        return ejecutar(() -> repositorio.guardar(alumno));
+    }
+    
+    @Override
+    public CompletableFuture<ResultadoRegistro> registrar(Alumno alumno) {
+        return ejecutar(() -> repositorio.registrar(alumno));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> actualizar(Alumno alumno) {
+        return ejecutar(() -> repositorio.actualizar(alumno));
+    }
+    
+    @Override
+    public CompletableFuture<Boolean> eliminar(String codigoAlumno) {
+        return ejecutar(() -> repositorio.eliminar(codigoAlumno));
+    }
+    
+    // ==================== BÚSQUEDAS ====================
+    
+    @Override
+    public CompletableFuture<Optional<Alumno>> buscarPorCodigo(String codigoAlumno) {
+        return ejecutar(() -> repositorio.buscarPorCodigo(codigoAlumno));
+    }
+    
+    @Override
+    public CompletableFuture<Optional<Alumno>> buscarPorDNI(String dni) {
+        return ejecutar(() -> repositorio.buscarPorDNI(dni));
+    }
+    
+    @Override
+    public CompletableFuture<List<Alumno>> buscarPorNombre(String termino) {
+        return ejecutar(() -> repositorio.buscarPorNombre(termino));
+    }
+    
+    @Override
+    public CompletableFuture<List<AlumnoResumen>> buscarResumenPorNombre(String termino) {
+        return ejecutar(() -> repositorio.buscarResumenPorNombre(termino));
+    }
+    
+    @Override
+    public CompletableFuture<List<Alumno>> buscarPorCarrera(String carrera) {
+        return ejecutar(() -> repositorio.buscarPorCarrera(carrera));
+    }
+    
+    @Override
+    public CompletableFuture<List<Alumno>> buscarPorEstado(String estado) {
+        return ejecutar(() -> repositorio.buscarPorEstado(estado));
+    }
+    
+    @Override
+    public CompletableFuture<List<Alumno>> buscarPorCriterios(String carrera, String estado,
+                                                              int cicloMinimo, double promedioMinimo) {
+        return ejecutar(() -> repositorio.buscarPorCriterios(carrera, estado, cicloMinimo, promedioMinimo));
+    }
+    
+    @Override
+    public CompletableFuture<PaginaResumen> obtenerPaginaResumen(String continuacion, int tamanio) {
+        return ejecutar(() -> repositorio.obtenerPaginaResumen(continuacion, tamanio));
+    }
+    
+    // ==================== ESTADÍSTICAS ====================
+    
+    @Override
+    public CompletableFuture<Integer> contarTotal() {
+        return ejecutar(repositorio::contarTotal);
+    }
+    
+    @Override
+    public CompletableFuture<Integer> contarPorEstado(String estado) {
+        return ejecutar(() -> repositorio.contarPorEstado(estado));
+    }
+    
+    @Override
+    public CompletableFuture<List<Alumno>> obtenerEnRiesgoAcademico() {
+        return ejecutar(repositorio::obtenerEnRiesgoAcademico);
+    }
+    
+    @Override
+    public CompletableFuture<EstadisticasDTO> obtenerEstadisticas() {
+        return ejecutar(repositorio::obtenerEstadisticas);
+    }
+    
+    /**
+     * Entrega las tareas al ejecutor base sin pasar de un límite de tareas en
+     * curso; las que sobran quedan en cola hasta que termine otra
+     */
+    private static final class EjecutorLimitado implements Executor {
+        private final Executor base;
+        private final int limite;
+        private final Queue<Runnable> pendientes = new ArrayDeque<>();
+        private int enCurso;
+        
+        EjecutorLimitado(Executor base, int limite) {
+            this.base = base;
+            this.limite = limite;
+        }
+        
+        @Override
+        public void execute(Runnable tarea) {
+            synchronized (this) {
+                pendientes.add(tarea);
+            }
+            despachar();
+        }
+        
+        private void despachar() {
+            while (true) {
+                Runnable siguiente;
+                synchronized (this) {
+                    if (enCurso >= limite || pendientes.isEmpty()) {
+                        return;
+                    }
+                    siguiente = pendientes.poll();
+                    enCurso++;
+                }
+                base.execute(() -> {
+                    try {
+                        siguiente.run();
+                    } finally {
+                        terminar();
+                    }
+                });
+            }
+        }
+        
+        private void terminar() {
+            synchronized (this) {
+                enCurso--;
+            }
+            despachar();
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package src.repositorio;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import src.modelo.*;
+
+/**
+ * Repositorio con caché de lecturas: decora cualquier IAlumnoRepository
+ *
+ * Guarda las búsquedas por código y por DNI (también las que no encontraron
+ * nada) y las listas por carrera y por estado. El tamaño se mide en alumnos
+ * guardados y, al superar la capacidad, se desaloja la entrada usada hace más
+ * tiempo (LRU). El resto de las consultas se delega sin cambios.
+ *
+ * Cada escritura que pasa por este repositorio invalida las entradas que
+ * contienen al alumno (por código) y las que pasaría a cumplir (su código, DNI,
+ * carrera y estado nuevos). Una carga que empezó antes de una invalidación no
+ * se guarda, para no dejar en caché datos anteriores a la escritura.
+ *
+ * Se guardan y se entregan copias de los alumnos: modificar un alumno leído no
+ * altera el caché hasta que se llama a actualizar(). Las escrituras hechas por
+ * fuera de este repositorio (otra instancia sobre la misma base) no se ven
+ * hasta que se desaloja la entrada o se llama a vaciarCache().
+ */
+public class AlumnoRepositoryCache implements IAlumnoRepository {
+    
+    private static final int CAPACIDAD_POR_DEFECTO = 10_000;
+    
+    // Prefijos de las claves del caché
+    private static final String CODIGO = "codigo:";
+    private static final String DNI = "dni:";
+    private static final String CARRERA = "carrera:";
+    private static final String ESTADO = "estado:";
+    
+    private final IAlumnoRepository delegado;
+    private final int capacidad;
+    
+    // Entradas en orden de acceso (la primera es la usada hace más tiempo)
+    private final LinkedHashMap<String, List<Alumno>> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    
+    // Código de alumno -> claves de las entradas que lo contienen
+    private final Map<String, Set<String>> dependencias = new HashMap<>();
+    private int alumnosEnCache;
+    
+    // Aumenta con cada invalidación
+    private long version;
+    
+    // Métricas
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long invalidaciones;
+    
+    private static AlumnoRepositoryCache instancia;
+    
+    /**
+     * @param delegado Repositorio con los datos
+     * @param capacidad Cantidad máxima de alumnos guardados en el caché
+     */
+    public AlumnoRepositoryCache(IAlumnoRepository delegado, int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad del caché debe ser positiva");
+        }
+        this.delegado = delegado;
+        this.capacidad = capacidad;
+    }
+    
+    // Método para obtener la instancia única (sobre AlumnoRepositoryMySQL)
+    public static synchronized AlumnoRepositoryCache getInstancia() {
+        if (instancia == null) {
+            instancia = new AlumnoRepositoryCache(AlumnoRepositoryMySQL.getInstancia(),
+                                                  CAPACIDAD_POR_DEFECTO);
+        }
+        return instancia;
+    }
+    
+    /**
+     * Obtiene las métricas del caché
+     */
+    public synchronized MetricasCache obtenerMetricas() {
+        return new MetricasCache(entradas.size(), alumnosEnCache, capacidad,
+                                 aciertos, fallos, desalojos, invalidaciones);
+    }
+    
+    /**
+     * Descarta todas las entradas (por ejemplo, tras cambios hechos por fuera)
+     */
+    public synchronized void vaciarCache() {
+        version++;
+        invalidaciones += entradas.size();
+        entradas.clear();
+        dependencias.clear();
+        alumnosEnCache = 0;
+    }
+    
+    // ==================== LECTURAS EN CACHÉ ====================
+    
+    @Override
+    public Optional<Alumno> buscarPorCodigo(String codigoAlumno) {
+        return primero(leer(CODIGO + codigoAlumno,
+                            () -> comoLista(delegado.buscarPorCodigo(codigoAlumno))));
+    }
+    
+    @Override
+    public Map<String, Alumno> buscarPorCodigos(Collection<String> codigos) {
+        // Los que están en caché se responden desde él; el resto se carga del
+        // delegado en una sola consulta y se guarda como si fuera buscarPorCodigo
+        Map<String, Alumno> encontrados = new HashMap<>();
+        List<String> faltantes = new ArrayList<>();
+        long versionCarga;
+        synchronized (this) {
+            for (String codigo : codigos) {
+                List<Alumno> cacheados = entradas.get(CODIGO + codigo);
+                if (cacheados == null) {
+                    fallos++;
+                    faltantes.add(codigo);
+                } else {
+                    aciertos++;
+                    primero(cacheados).ifPresent(a -> encontrados.put(codigo, new Alumno(a)));
+                }
+            }
+            versionCarga = version;
+        }
+        if (faltantes.isEmpty()) {
+            return encontrados;
+        }
+        
+        Map<String, Alumno> cargados = delegado.buscarPorCodigos(faltantes);
+        synchronized (this) {
+            // Si hubo una escritura durante la carga, el resultado puede ser anterior a ella
+            if (version == versionCarga) {
+                for (String codigo : faltantes) {
+                    if (!entradas.containsKey(CODIGO + codigo)) {
+                        Alumno cargado = cargados.get(codigo);
+                        agregar(CODIGO + codigo, cargado != null
+                                ? Collections.singletonList(new Alumno(cargado))
+                                : Collections.emptyList());
+                    }
+                }
+            }
+        }
+        cargados.forEach((codigo, alumno) -> encontrados.put(codigo, new Alumno(alumno)));
+        return encontrados;
+    }
+    
+    @Override
+    public Optional<Alumno> buscarPorDNI(String dni) {
+        return primero(leer(DNI + dni, () -> comoLista(delegado.buscarPorDNI(dni))));
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCarrera(String carrera) {
+        return leer(CARRERA + normalizar(carrera), () -> delegado.buscarPorCarrera(carrera));
+    }
+    
+    @Override
+    public List<Alumno> buscarPorEstado(String estado) {
+        return leer(ESTADO + normalizar(estado), () -> delegado.buscarPorEstado(estado));
+    }
+    
+    @Override
+    public boolean existe(String codigoAlumno) {
+        Boolean encontrado = consultar(CODIGO + codigoAlumno);
+        return encontrado != null ? encontrado : delegado.existe(codigoAlumno);
+    }
+    
+    @Override
+    public boolean existePorDNI(String dni) {
+        Boolean encontrado = consultar(DNI + dni);
+        return encontrado != null ? encontrado : delegado.existePorDNI(dni);
+    }
+    
+    // Devuelve la entrada (en copia) o la carga del delegado y la guarda
+    private List<Alumno> leer(String clave, Supplier<List<Alumno>> cargar) {
+        long versionCarga;
+        synchronized (this) {
+            List<Alumno> cacheados = entradas.get(clave);
+            if (cacheados != null) {
+                aciertos++;
+                return copiar(cacheados);
+            }
+            fallos++;
+            versionCarga = version;
+        }
+        
+        List<Alumno> cargados = cargar.get();
+        List<Alumno> copias = copiar(cargados);
+        synchronized (this) {
+            // Si hubo una escritura durante la carga, el resultado puede ser anterior a ella
+            if (version == versionCarga && !entradas.containsKey(clave)) {
+                agregar(clave, copias);
+            }
+        }
+        // Otra copia: quien llama no debe compartir objetos con el delegado ni con la cache
+        return copiar(cargados);
+    }
+    
+    // Responde una búsqueda de existencia con la entrada, o null si no está
+    private synchronized Boolean consultar(String clave) {
+        List<Alumno> cacheados = entradas.get(clave);
+        if (cacheados == null) {
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        return !cacheados.isEmpty();
+    }
+    
+    // Se llama con el candado tomado
+    private void agregar(String clave, List<Alumno> alumnos) {
+        if (peso(alumnos) > capacidad) {
+            return;
+        }
+        entradas.put(clave, alumnos);
+        alumnosEnCache += peso(alumnos);
+        for (Alumno alumno : alumnos) {
+            dependencias.computeIfAbsent(alumno.getCodigoAlumno(), c -> new HashSet<>()).add(clave);
+        }
+        
+        Iterator<Map.Entry<String, List<Alumno>>> it = entradas.entrySet().iterator();
+        while (alumnosEnCache > capacidad && it.hasNext()) {
+            Map.Entry<String, List<Alumno>> masAntigua = it.next();
+            it.remove();
+            olvidar(masAntigua.getKey(), masAntigua.getValue());
+            desalojos++;
+        }
+    }
+    
+    // ==================== ESCRITURAS CON INVALIDACIÓN ====================
+    
+    // Se invalida aunque la escritura falle: el alumno pudo modificarse en el
+    // delegado antes del error (los repositorios en memoria lo modifican en el lugar)
+    
+    @Override
+    public boolean guardar(Alumno alumno) {
+        boolean guardado = delegado.guardar(alumno);
+        invalidar(Collections.singletonList(alumno));
+        return guardado;
+    }
+    
+    @Override
+    public ResultadoRegistro registrar(Alumno alumno) {
+        ResultadoRegistro resultado = delegado.registrar(alumno);
+        invalidar(Collections.singletonList(alumno));
+        return resultado;
+    }
+    
+    @Override
+    public boolean actualizar(Alumno alumno) {
+        boolean actualizado = delegado.actualizar(alumno);
+        invalidar(Collections.singletonList(alumno));
+        return actualizado;
+    }
+    
+    @Override
+    public List<Boolean> guardarLote(List<Alumno> alumnos) {
+        List<Boolean> resultados = delegado.guardarLote(alumnos);
+        invalidar(alumnos);
+        return resultados;
+    }
+    
+    @Override
+    public List<Boolean> actualizarLote(List<Alumno> alumnos) {
+        List<Boolean> resultados = delegado.actualizarLote(alumnos);
+        invalidar(alumnos);
+        return resultados;
+    }
+    
+    @Override
+    public boolean eliminar(String codigoAlumno) {
+        boolean eliminado = delegado.eliminar(codigoAlumno);
+        synchronized (this) {
+            version++;
+            quitar(CODIGO + codigoAlumno);
+            quitarDependientes(codigoAlumno);
+        }
+        return eliminado;
+    }
+    
+    @Override
+    public void limpiar() {
+        delegado.limpiar();
+        vaciarCache();
+    }
+    
+    // Quita las entradas que contienen a los alumnos y las que pasarían a contenerlos
+    private synchronized void invalidar(List<Alumno> alumnos) {
+        version++;
+        for (Alumno alumno : alumnos) {
+            if (alumno == null) {
+                continue;
+            }
+            quitarDependientes(alumno.getCodigoAlumno());
+            quitar(CODIGO + alumno.getCodigoAlumno());
+            quitar(DNI + alumno.getDni());
+            quitar(CARRERA + normalizar(alumno.getCarrera()));
+            quitar(ESTADO + normalizar(alumno.getEstado()));
+        }
+    }
+    
+    // Se llama con el candado tomado
+    private void quitarDependientes(String codigoAlumno) {
+        Set<String> claves = dependencias.remove(codigoAlumno);
+        if (claves != null) {
+            for (String clave : claves) {
+                quitar(clave);
+            }
+        }
+    }
+    
+    // Se llama con el candado tomado
+    private void quitar(String clave) {
+        List<Alumno> alumnos = entradas.remove(clave);
+        if (alumnos != null) {
+            olvidar(clave, alumnos);
+            invalidaciones++;
+        }
+    }
+    
+    // Descuenta una entrada ya quitada de la capacidad y de las dependencias
+    private void olvidar(String clave, List<Alumno> alumnos) {
+        alumnosEnCache -= peso(alumnos);
+        for (Alumno alumno : alumnos) {
+            Set<String> claves = dependencias.get(alumno.getCodigoAlumno());
+            if (claves != null) {
+                claves.remove(clave);
+                if (claves.isEmpty()) {
+                    dependencias.remove(alumno.getCodigoAlumno());
+                }
+            }
+        }
+    }
+    
+    // ==================== AUXILIARES ====================
+    
+    // Una búsqueda sin resultados también ocupa lugar
+    private static int peso(List<Alumno> alumnos) {
+        return Math.max(1, alumnos.size());
+    }
+    
+    private static List<Alumno> comoLista(Optional<Alumno> alumno) {
+        return alumno.map(Collections::singletonList).orElse(Collections.emptyList());
+    }
+    
+    private static Optional<Alumno> primero(List<Alumno> alumnos) {
+        return alumnos.isEmpty() ? Optional.empty() : Optional.of(alumnos.get(0));
+    }
+    
+    private static List<Alumno> copiar(List<Alumno> alumnos) {
+        List<Alumno> copias = new ArrayList<>(alumnos.size());
+        for (Alumno alumno : alumnos) {
+            copias.add(new Alumno(alumno));
+        }
+        return copias;
+    }
+    
+    private static String normalizar(String valor) {
+        return valor != null ? valor.toLowerCase() : "";
+    }
+    
+    // ==================== LECTURAS DELEGADAS ====================
+    
+    @Override
+    public List<Alumno> obtenerTodos() {
+        return delegado.obtenerTodos();
+    }
+    
+    @Override
+    public Stream<Alumno> recorrerTodos() {
+        return delegado.recorrerTodos();
+    }
+    
+    @Override
+    public List<Alumno> buscarPorNombre(String termino) {
+        return delegado.buscarPorNombre(termino);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCiclo(int ciclo) {
+        return delegado.buscarPorCiclo(ciclo);
+    }
+    
+    @Override
+    public int contarTotal() {
+        return delegado.contarTotal();
+    }
+    
+    @Override
+    public int contarPorEstado(String estado) {
+        return delegado.contarPorEstado(estado);
+    }
+    
+    @Override
+    public List<Alumno> obtenerEnRiesgoAcademico() {
+        return delegado.obtenerEnRiesgoAcademico();
+    }
+    
+    @Override
+    public List<Alumno> obtenerMejoresPromedios(int limite) {
+        return delegado.obtenerMejoresPromedios(limite);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorRangoPromedio(String estado, double minimo, double maximo) {
+        return delegado.buscarPorRangoPromedio(estado, minimo, maximo);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCriterios(String carrera, String estado,
+                                           int cicloMinimo, double promedioMinimo) {
+        return delegado.buscarPorCriterios(carrera, estado, cicloMinimo, promedioMinimo);
+    }
+    
+    @Override
+    public List<AlumnoResumen> buscarResumenPorNombre(String termino) {
+        return delegado.buscarResumenPorNombre(termino);
+    }
+    
+    @Override
+    public PaginaResumen obtenerPaginaResumen(String continuacion, int tamanio) {
+        return delegado.obtenerPaginaResumen(continuacion, tamanio);
+    }
+    
+    @Override
+    public PaginaAlumnos obtenerPagina(String continuacion, int tamanio) {
+        return delegado.obtenerPagina(continuacion, tamanio);
+    }
+    
+    @Override
+    public EstadisticasDTO obtenerEstadisticas() {
+        return delegado.obtenerEstadisticas();
+    }
+    
+    @Override
+    public String obtenerFuenteDatos() {
+        return delegado.obtenerFuenteDatos() + " + caché de lecturas";
+    }
+    
+    @Override
+    public boolean seguroParaHilos() {
+        // El caché se protege solo; los fallos y escrituras llegan al delegado en paralelo
+        return delegado.seguroParaHilos();
+    }
+}
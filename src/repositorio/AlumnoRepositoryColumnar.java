@@ -0,0 +1,533 @@
+package src.repositorio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import src.modelo.*;
+
+/**
+ * Implementación en memoria del repositorio de Alumnos con almacenamiento columnar
+ *
+ * Cada campo se guarda en su propio arreglo (una "columna") y cada alumno ocupa la
+ * misma posición (fila) en todos ellos. Ciclo, promedio y créditos son arreglos
+ * primitivos; la carrera se codifica con un diccionario y el estado con el
+ * ordinal de EstadoAlumno. Los recorridos y agregados leen solo las columnas que necesitan, y los
+ * objetos Alumno se construyen únicamente para las filas que se devuelven.
+ *
+ * Los Alumno devueltos son copias: los cambios se persisten llamando a actualizar().
+ */
+public class AlumnoRepositoryColumnar implements IAlumnoRepository {
+    
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final EstadoAlumno[] ESTADOS = EstadoAlumno.values();
+    private static final byte ACTIVO = (byte) EstadoAlumno.ACTIVO.ordinal();
+    private static final double LIMITE_RIESGO = 11.0;
+    
+    private int filas;
+    
+    // Columnas de texto (solo se leen al materializar o buscar por nombre)
+    private String[] codigos;
+    private String[] nombres;
+    private String[] apellidos;
+    private String[] dnis;
+    private String[] fechasNacimiento;
+    private String[] direcciones;
+    private String[] telefonos;
+    private String[] emails;
+    private String[] fechasIngreso;
+    
+    // Columnas primitivas para recorridos y agregados
+    private int[] ciclos;
+    private double[] promedios;
+    private int[] creditos;
+    private int[] carreras;
+    private byte[] estados; // ordinal de EstadoAlumno
+    
+    private final Diccionario diccionarioCarreras;
+
+    // Índices de código y DNI -> fila
+    private final Map<String, Integer> filaPorCodigo;
+    private final Map<String, Integer> filaPorDNI;
+    
+    private static AlumnoRepositoryColumnar instancia;
+    
+    // Constructor privado (Singleton)
+    private AlumnoRepositoryColumnar() {
+        this.diccionarioCarreras = new Diccionario();
+        this.filaPorCodigo = new HashMap<>();
+        this.filaPorDNI = new HashMap<>();
+        crearColumnas(CAPACIDAD_INICIAL);
+        AlumnoRepositoryMemoria.datosIniciales().forEach(this::guardar);
+    }
+    
+    // Método para obtener la instancia única
+    public static synchronized AlumnoRepositoryColumnar getInstancia() {
+        if (instancia == null) {
+            instancia = new AlumnoRepositoryColumnar();
+        }
+        return instancia;
+    }
+    
+    @Override
+    public boolean guardar(Alumno alumno) {
+        if (alumno == null || !alumno.validarDatos()) {
+            return false;
+        }
+        
+        if (existe(alumno.getCodigoAlumno()) || existePorDNI(alumno.getDni())) {
+            return false;
+        }
+        
+        if (filas == codigos.length) {
+            ampliarColumnas(filas * 2);
+        }
+        
+        int fila = filas++;
+        escribirFila(fila, alumno);
+        filaPorCodigo.put(alumno.getCodigoAlumno(), fila);
+        filaPorDNI.put(alumno.getDni(), fila);
+        return true;
+    }
+    
+    @Override
+    public boolean actualizar(Alumno alumno) {
+        if (alumno == null || !alumno.validarDatos()) {
+            return false;
+        }
+        
+        Integer fila = filaPorCodigo.get(alumno.getCodigoAlumno());
+        if (fila == null) {
+            return false;
+        }
+        
+        // Verificar que el DNI no esté duplicado en otro alumno
+        Integer filaConDNI = filaPorDNI.get(alumno.getDni());
+        if (filaConDNI != null && !filaConDNI.equals(fila)) {
+            return false;
+        }
+        
+        filaPorDNI.remove(dnis[fila]);
+        escribirFila(fila, alumno);
+        filaPorDNI.put(alumno.getDni(), fila);
+        return true;
+    }
+    
+    @Override
+    public boolean eliminar(String codigoAlumno) {
+        Integer fila = filaPorCodigo.remove(codigoAlumno);
+        if (fila == null) {
+            return false;
+        }
+        filaPorDNI.remove(dnis[fila]);
+        
+        // Mover la última fila al hueco para mantener las columnas compactas
+        int ultima = --filas;
+        if (fila != ultima) {
+            moverFila(ultima, fila);
+            filaPorCodigo.put(codigos[fila], fila);
+            filaPorDNI.put(dnis[fila], fila);
+        }
+        limpiarFila(ultima);
+        return true;
+    }
+    
+    @Override
+    public Optional<Alumno> buscarPorCodigo(String codigoAlumno) {
+        Integer fila = filaPorCodigo.get(codigoAlumno);
+        return fila != null ? Optional.of(materializar(fila)) : Optional.empty();
+    }
+    
+    @Override
+    public List<Alumno> obtenerTodos() {
+        List<Alumno> alumnos = new ArrayList<>(filas);
+        for (int fila = 0; fila < filas; fila++) {
+            alumnos.add(materializar(fila));
+        }
+        return alumnos;
+    }
+    
+    /**
+     * Materializa cada fila recién cuando el flujo la consume. No debe
+     * modificarse el repositorio mientras el flujo esté en uso
+     */
+    @Override
+    public Stream<Alumno> recorrerTodos() {
+        return IntStream.range(0, filas).mapToObj(this::materializar);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorNombre(String termino) {
+        String terminoLower = termino.toLowerCase();
+        int[] coincidencias = new int[filas];
+        int n = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            String nombre = nombres[fila].toLowerCase();
+            String apellido = apellidos[fila].toLowerCase();
+            if (nombre.contains(terminoLower) || apellido.contains(terminoLower) ||
+                (nombre + " " + apellido).contains(terminoLower)) {
+                coincidencias[n++] = fila;
+            }
+        }
+        return materializarOrdenado(coincidencias, n, ordenAlfabetico());
+    }
+    
+    @Override
+    public Optional<Alumno> buscarPorDNI(String dni) {
+        Integer fila = filaPorDNI.get(dni);
+        return fila != null ? Optional.of(materializar(fila)) : Optional.empty();
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCarrera(String carrera) {
+        boolean[] buscados = diccionarioCarreras.codigosSinMayusculas(carrera);
+        int[] coincidencias = new int[filas];
+        int n = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (buscados[carreras[fila]]) {
+                coincidencias[n++] = fila;
+            }
+        }
+        return materializarOrdenado(coincidencias, n, ordenAlfabetico());
+    }
+    
+    @Override
+    public List<Alumno> buscarPorEstado(String estado) {
+        int buscado = codigoEstado(estado);
+        int[] coincidencias = new int[filas];
+        int n = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (estados[fila] == buscado) {
+                coincidencias[n++] = fila;
+            }
+        }
+        return materializarOrdenado(coincidencias, n, ordenAlfabetico());
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCiclo(int ciclo) {
+        int[] coincidencias = new int[filas];
+        int n = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (ciclos[fila] == ciclo) {
+                coincidencias[n++] = fila;
+            }
+        }
+        return materializarOrdenado(coincidencias, n, ordenAlfabetico());
+    }
+    
+    @Override
+    public int contarTotal() {
+        return filas;
+    }
+    
+    @Override
+    public int contarPorEstado(String estado) {
+        int buscado = codigoEstado(estado);
+        int total = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (estados[fila] == buscado) {
+                total++;
+            }
+        }
+        return total;
+    }
+    
+    @Override
+    public List<Alumno> obtenerEnRiesgoAcademico() {
+        int[] coincidencias = new int[filas];
+        int n = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (estados[fila] == ACTIVO && promedios[fila] < LIMITE_RIESGO) {
+                coincidencias[n++] = fila;
+            }
+        }
+        return materializarOrdenado(coincidencias, n,
+                Comparator.comparingDouble((Integer f) -> promedios[f]));
+    }
+    
+    @Override
+    public boolean existe(String codigoAlumno) {
+        return filaPorCodigo.containsKey(codigoAlumno);
+    }
+    
+    @Override
+    public boolean existePorDNI(String dni) {
+        return filaPorDNI.containsKey(dni);
+    }
+    
+    @Override
+    public void limpiar() {
+        filas = 0;
+        filaPorCodigo.clear();
+        filaPorDNI.clear();
+        diccionarioCarreras.limpiar();
+        crearColumnas(CAPACIDAD_INICIAL);
+    }
+    
+    @Override
+    public String obtenerFuenteDatos() {
+        return "Memoria columnar (arreglos primitivos)";
+    }
+    
+    // ==================== AGREGADOS SOBRE COLUMNAS ====================
+    
+    /**
+     * Obtiene las estadísticas generales en una sola pasada sobre las columnas
+     * de estado y promedio, sin construir ningún Alumno
+     */
+    @Override
+    public EstadisticasDTO obtenerEstadisticas() {
+        int[] porEstado = new int[ESTADOS.length];
+        int enRiesgo = 0;
+        double sumaPromedios = 0.0;
+        for (int fila = 0; fila < filas; fila++) {
+            porEstado[estados[fila]]++;
+            if (estados[fila] == ACTIVO) {
+                sumaPromedios += promedios[fila];
+                if (promedios[fila] < LIMITE_RIESGO) {
+                    enRiesgo++;
+                }
+            }
+        }
+        
+        int activos = porEstado[ACTIVO];
+        double promedioGeneral = activos > 0 ? sumaPromedios / activos : 0.0;
+        return new EstadisticasDTO(filas, activos,
+                                  porEstado[EstadoAlumno.INACTIVO.ordinal()],
+                                  porEstado[EstadoAlumno.EGRESADO.ordinal()],
+                                  enRiesgo, promedioGeneral);
+    }
+    
+    /**
+     * Cuenta los alumnos de cada carrera recorriendo solo la columna codificada
+     */
+    public Map<String, Long> contarPorCarrera() {
+        long[] conteos = new long[diccionarioCarreras.tamanio()];
+        for (int fila = 0; fila < filas; fila++) {
+            conteos[carreras[fila]]++;
+        }
+        
+        Map<String, Long> distribucion = new LinkedHashMap<>();
+        for (int codigo = 0; codigo < conteos.length; codigo++) {
+            if (conteos[codigo] > 0) {
+                distribucion.merge(diccionarioCarreras.valor(codigo), conteos[codigo], Long::sum);
+            }
+        }
+        return distribucion;
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCriterios(String carrera, String estado,
+                                           int cicloMinimo, double promedioMinimo) {
+        return filtrar(carrera, estado, cicloMinimo, promedioMinimo);
+    }
+    
+    /**
+     * Filtra por los criterios de un reporte en una sola pasada sobre las columnas
+     * @param carrera Carrera (null para no filtrar)
+     * @param estado Estado (null para no filtrar)
+     * @param cicloMinimo Ciclo mínimo (0 para no filtrar)
+     * @param promedioMinimo Promedio mínimo (0 para no filtrar)
+     */
+    public List<Alumno> filtrar(String carrera, String estado, int cicloMinimo, double promedioMinimo) {
+        boolean[] carrerasBuscadas = carrera != null ? diccionarioCarreras.codigosSinMayusculas(carrera) : null;
+        int estadoBuscado = estado != null ? codigoEstado(estado) : -1;
+
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int fila = 0; fila < filas; fila++) {
+            if ((carrerasBuscadas == null || carrerasBuscadas[carreras[fila]]) &&
+                (estado == null || estados[fila] == estadoBuscado) &&
+                ciclos[fila] >= cicloMinimo &&
+                promedios[fila] >= promedioMinimo) {
+                alumnos.add(materializar(fila));
+            }
+        }
+        return alumnos;
+    }
+    
+    /**
+     * Obtiene los alumnos activos con mejor promedio
+     */
+    @Override
+    public List<Alumno> obtenerMejoresPromedios(int limite) {
+        int[] coincidencias = new int[filas];
+        int n = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (estados[fila] == ACTIVO) {
+                coincidencias[n++] = fila;
+            }
+        }
+        List<Alumno> ordenados = materializarOrdenado(coincidencias, n,
+                Comparator.comparingDouble((Integer f) -> promedios[f]).reversed());
+        return ordenados.subList(0, Math.min(limite, ordenados.size()));
+    }
+    
+    // ==================== MANEJO DE COLUMNAS ====================
+    
+    private void crearColumnas(int capacidad) {
+        codigos = new String[capacidad];
+        nombres = new String[capacidad];
+        apellidos = new String[capacidad];
+        dnis = new String[capacidad];
+        fechasNacimiento = new String[capacidad];
+        direcciones = new String[capacidad];
+        telefonos = new String[capacidad];
+        emails = new String[capacidad];
+        fechasIngreso = new String[capacidad];
+        ciclos = new int[capacidad];
+        promedios = new double[capacidad];
+        creditos = new int[capacidad];
+        carreras = new int[capacidad];
+        estados = new byte[capacidad];
+    }
+    
+    private void ampliarColumnas(int capacidad) {
+        codigos = Arrays.copyOf(codigos, capacidad);
+        nombres = Arrays.copyOf(nombres, capacidad);
+        apellidos = Arrays.copyOf(apellidos, capacidad);
+        dnis = Arrays.copyOf(dnis, capacidad);
+        fechasNacimiento = Arrays.copyOf(fechasNacimiento, capacidad);
+        direcciones = Arrays.copyOf(direcciones, capacidad);
+        telefonos = Arrays.copyOf(telefonos, capacidad);
+        emails = Arrays.copyOf(emails, capacidad);
+        fechasIngreso = Arrays.copyOf(fechasIngreso, capacidad);
+        ciclos = Arrays.copyOf(ciclos, capacidad);
+        promedios = Arrays.copyOf(promedios, capacidad);
+        creditos = Arrays.copyOf(creditos, capacidad);
+        carreras = Arrays.copyOf(carreras, capacidad);
+        estados = Arrays.copyOf(estados, capacidad);
+    }
+    
+    private void escribirFila(int fila, Alumno alumno) {
+        codigos[fila] = alumno.getCodigoAlumno();
+        nombres[fila] = alumno.getNombre();
+        apellidos[fila] = alumno.getApellido();
+        dnis[fila] = alumno.getDni();
+        fechasNacimiento[fila] = alumno.getFechaNacimiento();
+        direcciones[fila] = alumno.getDireccion();
+        telefonos[fila] = alumno.getTelefono();
+        emails[fila] = alumno.getEmail();
+        fechasIngreso[fila] = alumno.getFechaIngreso();
+        ciclos[fila] = alumno.getCiclo();
+        promedios[fila] = alumno.getPromedio();
+        creditos[fila] = alumno.getCreditosAcumulados();
+        carreras[fila] = diccionarioCarreras.codificar(alumno.getCarrera());
+        estados[fila] = (byte) alumno.getEstadoAlumno().ordinal();
+    }
+    
+    private void moverFila(int origen, int destino) {
+        codigos[destino] = codigos[origen];
+        nombres[destino] = nombres[origen];
+        apellidos[destino] = apellidos[origen];
+        dnis[destino] = dnis[origen];
+        fechasNacimiento[destino] = fechasNacimiento[origen];
+        direcciones[destino] = direcciones[origen];
+        telefonos[destino] = telefonos[origen];
+        emails[destino] = emails[origen];
+        fechasIngreso[destino] = fechasIngreso[origen];
+        ciclos[destino] = ciclos[origen];
+        promedios[destino] = promedios[origen];
+        creditos[destino] = creditos[origen];
+        carreras[destino] = carreras[origen];
+        estados[destino] = estados[origen];
+    }
+    
+    // Libera las referencias de texto de una fila que ya no se usa
+    private void limpiarFila(int fila) {
+        codigos[fila] = null;
+        nombres[fila] = null;
+        apellidos[fila] = null;
+        dnis[fila] = null;
+        fechasNacimiento[fila] = null;
+        direcciones[fila] = null;
+        telefonos[fila] = null;
+        emails[fila] = null;
+        fechasIngreso[fila] = null;
+    }
+    
+    // Construye el Alumno de una fila
+    private Alumno materializar(int fila) {
+        return new Alumno(
+            nombres[fila], apellidos[fila], dnis[fila], fechasNacimiento[fila],
+            direcciones[fila], telefonos[fila], emails[fila],
+            codigos[fila], diccionarioCarreras.valor(carreras[fila]), ciclos[fila],
+            promedios[fila], ESTADOS[estados[fila]].getNombre(),
+            fechasIngreso[fila], creditos[fila]
+        );
+    }
+    
+    // Ordena las filas seleccionadas por columna y materializa solo esas filas
+    private List<Alumno> materializarOrdenado(int[] seleccion, int n, Comparator<Integer> orden) {
+        Integer[] ordenadas = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ordenadas[i] = seleccion[i];
+        }
+        Arrays.sort(ordenadas, orden);
+        
+        List<Alumno> alumnos = new ArrayList<>(n);
+        for (Integer fila : ordenadas) {
+            alumnos.add(materializar(fila));
+        }
+        return alumnos;
+    }
+    
+    // Ordinal del estado buscado, o -2 (no coincide con ninguna fila) si no es válido
+    private static int codigoEstado(String estado) {
+        EstadoAlumno buscado = EstadoAlumno.desdeNombre(estado);
+        return buscado != null ? buscado.ordinal() : -2;
+    }
+    
+    private Comparator<Integer> ordenAlfabetico() {
+        return Comparator.comparing((Integer f) -> apellidos[f])
+                         .thenComparing(f -> nombres[f]);
+    }
+    
+    /**
+     * Diccionario de cadenas: asigna un código entero a cada valor distinto.
+     * Los valores se conservan tal como llegan; las búsquedas ignoran mayúsculas.
+     */
+    private static final class Diccionario {
+        private final List<String> valores = new ArrayList<>();
+        private final Map<String, Integer> codigos = new HashMap<>();
+        
+        int codificar(String valor) {
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = valores.size();
+                valores.add(valor);
+                codigos.put(valor, codigo);
+            }
+            return codigo;
+        }
+        
+        String valor(int codigo) {
+            return valores.get(codigo);
+        }
+        
+        int tamanio() {
+            return valores.size();
+        }
+        
+        // Marca los códigos cuyo valor coincide sin distinguir mayúsculas
+        boolean[] codigosSinMayusculas(String valor) {
+            boolean[] coincide = new boolean[valores.size()];
+            for (int codigo = 0; codigo < coincide.length; codigo++) {
+                String actual = valores.get(codigo);
+                coincide[codigo] = actual != null && actual.equalsIgnoreCase(valor);
+            }
+            return coincide;
+        }
+        
+        void limpiar() {
+            valores.clear();
+            codigos.clear();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package src.repositorio;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import src.modelo.*;
+
+/**
+ * Implementación en memoria segura para hilos del repositorio de Alumnos
+ * Pensada para el despliegue web, donde todas las peticiones comparten la instancia
+ *
+ * - Las lecturas no toman candados (ConcurrentHashMap, iteración sin
+ *   ConcurrentModificationException).
+ * - La unicidad de código y DNI se garantiza con putIfAbsent, de forma atómica.
+ * - Las escrituras sobre un mismo código se serializan con candados por franjas,
+ *   de modo que escrituras sobre alumnos distintos no compiten entre sí.
+ * - Los recorridos (obtenerTodos, búsquedas, estadísticas) leen una instantánea
+ *   inmutable (ListaPersistente) que cada escritura reemplaza de forma atómica,
+ *   así una lectura nunca mezcla estados anteriores y posteriores a una escritura.
+ * - La paginación recorre un índice ordenado por (apellido, nombre, código)
+ *   (ConcurrentSkipListMap) desde la posición del cursor, sin ordenar la tabla.
+ * - El repositorio guarda copias propias de los alumnos y entrega siempre otras
+ *   copias: un hilo que modifica el alumno que leyó no altera lo que ven los
+ *   demás hasta llamar a actualizar().
+ */
+public class AlumnoRepositoryConcurrente implements IAlumnoRepository {
+    
+    private static final int NUMERO_FRANJAS = 64;
+    
+    private static final Comparator<Alumno> ORDEN_ALFABETICO =
+            Comparator.comparing(Alumno::getApellido).thenComparing(Alumno::getNombre);
+    
+    // codigoAlumno -> entrada, y reserva única dni -> codigoAlumno
+    private final ConcurrentHashMap<String, Entrada> alumnosPorCodigo;
+    private final ConcurrentHashMap<String, String> codigoPorDNI;
+    private final ConcurrentNavigableMap<CursorAlumno, Entrada> indiceAlfabetico;
+    private final ReentrantLock[] franjas;
+    private final AtomicReference<ListaPersistente<Alumno>> instantanea;
+    private final AtomicLong ultimaSecuencia;
+    private static AlumnoRepositoryConcurrente instancia;
+    
+    // Constructor privado (Singleton)
+    private AlumnoRepositoryConcurrente() {
+        this.alumnosPorCodigo = new ConcurrentHashMap<>();
+        this.codigoPorDNI = new ConcurrentHashMap<>();
+        this.indiceAlfabetico = new ConcurrentSkipListMap<>(CursorAlumno.ORDEN_CURSOR);
+        this.franjas = new ReentrantLock[NUMERO_FRANJAS];
+        for (int i = 0; i < NUMERO_FRANJAS; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+        this.instantanea = new AtomicReference<>(ListaPersistente.vacia());
+        this.ultimaSecuencia = new AtomicLong();
+        AlumnoRepositoryMemoria.datosIniciales().forEach(this::guardar);
+    }
+    
+    // Método para obtener la instancia única
+    public static synchronized AlumnoRepositoryConcurrente getInstancia() {
+        if (instancia == null) {
+            instancia = new AlumnoRepositoryConcurrente();
+        }
+        return instancia;
+    }
+    
+    @Override
+    public boolean guardar(Alumno alumno) {
+        if (alumno == null || !alumno.validarDatos()) {
+            return false;
+        }
+        
+        String codigo = alumno.getCodigoAlumno();
+        ReentrantLock candado = franja(codigo);
+        candado.lock();
+        try {
+            if (alumnosPorCodigo.containsKey(codigo)) {
+                return false;
+            }
+            
+            // Reserva atómica del DNI: solo un hilo puede obtenerla
+            if (codigoPorDNI.putIfAbsent(alumno.getDni(), codigo) != null) {
+                return false;
+            }
+            
+            publicar(new Entrada(alumno, ultimaSecuencia.incrementAndGet()));
+            return true;
+        } finally {
+            candado.unlock();
+        }
+    }
+    
+    @Override
+    public boolean actualizar(Alumno alumno) {
+        if (alumno == null || !alumno.validarDatos()) {
+            return false;
+        }
+        
+        String codigo = alumno.getCodigoAlumno();
+        ReentrantLock candado = franja(codigo);
+        candado.lock();
+        try {
+            Entrada anterior = alumnosPorCodigo.get(codigo);
+            if (anterior == null) {
+                return false;
+            }
+            
+            String nuevoDNI = alumno.getDni();
+            boolean cambiaDNI = !nuevoDNI.equals(anterior.dni);
+            
+            // Verificar que el DNI no esté duplicado en otro alumno
+            if (cambiaDNI && codigoPorDNI.putIfAbsent(nuevoDNI, codigo) != null) {
+                return false;
+            }
+            
+            publicar(new Entrada(alumno, anterior.secuencia));
+            // Si la clave no cambió, publicar ya reemplazó la entrada anterior
+            indiceAlfabetico.remove(anterior.clave, anterior);
+            if (cambiaDNI) {
+                codigoPorDNI.remove(anterior.dni, codigo);
+            }
+            return true;
+        } finally {
+            candado.unlock();
+        }
+    }
+    
+    @Override
+    public boolean eliminar(String codigoAlumno) {
+        ReentrantLock candado = franja(codigoAlumno);
+        candado.lock();
+        try {
+            Entrada entrada = alumnosPorCodigo.remove(codigoAlumno);
+            if (entrada == null) {
+                return false;
+            }
+            codigoPorDNI.remove(entrada.dni, codigoAlumno);
+            indiceAlfabetico.remove(entrada.clave, entrada);
+            instantanea.updateAndGet(v -> v.quitar(entrada.secuencia));
+            return true;
+        } finally {
+            candado.unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Alumno> buscarPorCodigo(String codigoAlumno) {
+        Entrada entrada = alumnosPorCodigo.get(codigoAlumno);
+        return entrada != null ? Optional.of(new Alumno(entrada.alumno)) : Optional.empty();
+    }
+    
+    @Override
+    public List<Alumno> obtenerTodos() {
+        // Instantánea inmutable en O(1), en orden de inserción; cada alumno se
+        // copia recién al leerlo
+        return instantanea.get().copiando(Alumno::new);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorNombre(String termino) {
+        String terminoLower = termino.toLowerCase();
+        return alumnos()
+                .filter(a -> a.getNombre().toLowerCase().contains(terminoLower) ||
+                           a.getApellido().toLowerCase().contains(terminoLower) ||
+                           a.getNombreCompleto().toLowerCase().contains(terminoLower))
+                .sorted(ORDEN_ALFABETICO)
+                .map(Alumno::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public Optional<Alumno> buscarPorDNI(String dni) {
+        String codigo = codigoPorDNI.get(dni);
+        return codigo != null ? buscarPorCodigo(codigo) : Optional.empty();
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCarrera(String carrera) {
+        return alumnos()
+                .filter(a -> carrera != null && carrera.equalsIgnoreCase(a.getCarrera()))
+                .sorted(ORDEN_ALFABETICO)
+                .map(Alumno::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Alumno> buscarPorEstado(String estado) {
+        return alumnos()
+                .filter(a -> estado.equalsIgnoreCase(a.getEstado()))
+                .sorted(ORDEN_ALFABETICO)
+                .map(Alumno::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCiclo(int ciclo) {
+        return alumnos()
+                .filter(a -> a.getCiclo() == ciclo)
+                .sorted(ORDEN_ALFABETICO)
+                .map(Alumno::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public int contarTotal() {
+        return alumnosPorCodigo.size();
+    }
+    
+    @Override
+    public int contarPorEstado(String estado) {
+        return (int) alumnos()
+                .filter(a -> estado.equalsIgnoreCase(a.getEstado()))
+                .count();
+    }
+    
+    @Override
+    public List<Alumno> obtenerEnRiesgoAcademico() {
+        return alumnos()
+                .filter(Alumno::enRiesgoAcademico)
+                .sorted(Comparator.comparing(Alumno::getPromedio))
+                .map(Alumno::new)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public PaginaAlumnos obtenerPagina(String continuacion, int tamanio) {
+        CursorAlumno.validarTamanio(tamanio);
+        CursorAlumno cursor = CursorAlumno.desdeToken(continuacion);
+        
+        // Búsqueda directa de la posición del cursor: O(log n + tamaño)
+        List<Alumno> alumnos = restantes(cursor).values().stream()
+                .limit(tamanio + 1L)
+                .map(e -> new Alumno(e.alumno))
+                .collect(Collectors.toList());
+        return CursorAlumno.armarPagina(alumnos, tamanio);
+    }
+    
+    @Override
+    public PaginaResumen obtenerPaginaResumen(String continuacion, int tamanio) {
+        CursorAlumno.validarTamanio(tamanio);
+        CursorAlumno cursor = CursorAlumno.desdeToken(continuacion);
+        
+        // Resume directamente desde la entrada, sin copiar el alumno completo
+        List<AlumnoResumen> alumnos = restantes(cursor).values().stream()
+                .limit(tamanio + 1L)
+                .map(e -> AlumnoResumen.desde(e.alumno))
+                .collect(Collectors.toList());
+        return CursorAlumno.armarPaginaResumen(alumnos, tamanio);
+    }
+    
+    @Override
+    public boolean existe(String codigoAlumno) {
+        return alumnosPorCodigo.containsKey(codigoAlumno);
+    }
+    
+    @Override
+    public boolean existePorDNI(String dni) {
+        return codigoPorDNI.containsKey(dni);
+    }
+    
+    @Override
+    public void limpiar() {
+        for (ReentrantLock candado : franjas) {
+            candado.lock();
+        }
+        try {
+            alumnosPorCodigo.clear();
+            codigoPorDNI.clear();
+            indiceAlfabetico.clear();
+            instantanea.set(ListaPersistente.vacia());
+        } finally {
+            for (ReentrantLock candado : franjas) {
+                candado.unlock();
+            }
+        }
+    }
+    
+    @Override
+    public String obtenerFuenteDatos() {
+        return "Memoria concurrente (ConcurrentHashMap)";
+    }
+    
+    @Override
+    public boolean seguroParaHilos() {
+        return true;
+    }
+    
+    @Override
+    public EstadisticasDTO obtenerEstadisticas() {
+        // Una sola pasada sobre una instantánea consistente
+        AcumuladorEstadisticas acumulador = new AcumuladorEstadisticas();
+        for (Alumno a : instantanea.get()) {
+            acumulador.agregar(a);
+        }
+        return acumulador.resultado();
+    }
+    
+    // Recorre la instantánea vigente, sin copiar ni tomar candados. Entrega los
+    // objetos propios del repositorio: lo que salga de aquí debe copiarse
+    private Stream<Alumno> alumnos() {
+        return instantanea.get().stream();
+    }
+    
+    // Alumnos posteriores al cursor en el índice alfabético (todos si es null)
+    private ConcurrentNavigableMap<CursorAlumno, Entrada> restantes(CursorAlumno cursor) {
+        return cursor == null ? indiceAlfabetico : indiceAlfabetico.tailMap(cursor, false);
+    }
+    
+    // Registra la entrada en el mapa y en el índice alfabético, y publica la
+    // nueva versión de la instantánea. Se llama con el candado de la franja tomado
+    private void publicar(Entrada entrada) {
+        alumnosPorCodigo.put(entrada.alumno.getCodigoAlumno(), entrada);
+        indiceAlfabetico.put(entrada.clave, entrada);
+        instantanea.updateAndGet(v -> v.insertar(entrada.secuencia, entrada.alumno));
+    }
+    
+    private ReentrantLock franja(String codigoAlumno) {
+        int hash = codigoAlumno != null ? codigoAlumno.hashCode() : 0;
+        return franjas[(hash ^ (hash >>> 16)) & (NUMERO_FRANJAS - 1)];
+    }
+    
+    /**
+     * Entrada del mapa principal. Guarda una copia propia del alumno, que ningún
+     * otro hilo puede modificar; el DNI con el que se registró, para liberar la
+     * reserva correcta; la secuencia que lo ubica en la instantánea y su clave
+     * en el índice alfabético.
+     */
+    private static final class Entrada {
+        private final Alumno alumno;
+        private final String dni;
+        private final long secuencia;
+        private final CursorAlumno clave;
+        
+        Entrada(Alumno alumno, long secuencia) {
+            this.alumno = new Alumno(alumno);
+            this.dni = alumno.getDni();
+            this.secuencia = secuencia;
+            this.clave = CursorAlumno.de(this.alumno);
+        }
+    }
+}
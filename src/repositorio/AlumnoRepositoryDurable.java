@@ -0,0 +1,633 @@
+package src.repositorio;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import src.modelo.*;
+
+/**
+ * Repositorio durable: agrega un diario de escrituras a un repositorio en memoria
+ *
+ * Cada guardar/actualizar/eliminar/limpiar exitoso se aplica primero en memoria y
+ * luego se registra en el diario (DiarioEscrituras) con el estado completo del
+ * alumno. El método vuelve cuando el registro está en disco; las escrituras
+ * concurrentes comparten un mismo fsync (confirmación en grupo).
+ *
+ * Cada escritura aplicada guarda cómo deshacerla hasta que su registro llega a
+ * disco. Si el diario falla, las escrituras sin confirmar se deshacen en orden
+ * inverso, así la memoria no conserva cambios que se perderían al reiniciar; y
+ * desde entonces toda escritura se rechaza sin tocar el delegado.
+ *
+ * Cada REGISTROS_POR_INSTANTANEA registros se escribe una instantánea compacta
+ * de todos los alumnos y se vacía el diario. Al iniciar se carga la última
+ * instantánea y se reaplica el diario de su misma generación.
+ *
+ * Las lecturas se delegan sin cambios. Las escrituras se serializan entre sí,
+ * pero las lecturas concurrentes solo son seguras si el repositorio delegado lo es
+ * (AlumnoRepositoryConcurrente).
+ *
+ * El delegado debe guardar copias propias y entregar copias en las lecturas,
+ * como AlumnoRepositoryMemoria y AlumnoRepositoryConcurrente: el estado para
+ * deshacer se toma de él y no puede haber sido modificado por quien llama antes
+ * de actualizar().
+ */
+public class AlumnoRepositoryDurable implements IAlumnoRepository {
+    
+    private static final String DIRECTORIO_DATOS = "datos/diario";
+    private static final int MAGIA_INSTANTANEA = 0x494E5354; // "INST"
+    private static final int REGISTROS_POR_INSTANTANEA = 10_000;
+    
+    // Tipos de registro del diario
+    private static final byte GUARDAR = 1;
+    private static final byte ACTUALIZAR = 2;
+    private static final byte ELIMINAR = 3;
+    private static final byte LIMPIAR = 4;
+    
+    private final IAlumnoRepository delegado;
+    private final Path archivoInstantanea;
+    private final DiarioEscrituras diario;
+    
+    // Serializa las escrituras para que el orden del diario sea el de aplicación
+    private final Object candadoEscritura = new Object();
+    
+    // Escrituras aplicadas cuyo registro aún no está en disco, en orden de
+    // número (protegido por candadoEscritura)
+    private final Deque<SinConfirmar> sinConfirmar = new ArrayDeque<>();
+    
+    private static AlumnoRepositoryDurable instancia;
+    
+    /**
+     * @param delegado Repositorio en memoria donde viven los datos
+     * @param directorio Carpeta del diario y la instantánea
+     */
+    public AlumnoRepositoryDurable(IAlumnoRepository delegado, Path directorio) {
+        this.delegado = delegado;
+        this.archivoInstantanea = directorio.resolve("alumnos.inst");
+        try {
+            Files.createDirectories(directorio);
+            this.diario = new DiarioEscrituras(directorio.resolve("alumnos.diario"));
+            recuperar();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo recuperar el diario en " + directorio, e);
+        }
+    }
+    
+    // Método para obtener la instancia única (sobre AlumnoRepositoryMemoria)
+    public static synchronized AlumnoRepositoryDurable getInstancia() {
+        if (instancia == null) {
+            instancia = new AlumnoRepositoryDurable(AlumnoRepositoryMemoria.getInstancia(),
+                                                    Paths.get(DIRECTORIO_DATOS));
+        }
+        return instancia;
+    }
+    
+    // ==================== ESCRITURAS REGISTRADAS ====================
+    
+    @Override
+    public boolean guardar(Alumno alumno) {
+        long numero;
+        synchronized (candadoEscritura) {
+            if (diarioFallido() || !delegado.guardar(alumno)) {
+                return false;
+            }
+            numero = registrar(GUARDAR, alumno, null, deshacerGuardar(alumno));
+        }
+        return confirmar(numero);
+    }
+    
+    @Override
+    public ResultadoRegistro registrar(Alumno alumno) {
+        ResultadoRegistro resultado;
+        long numero;
+        synchronized (candadoEscritura) {
+            if (diarioFallido()) {
+                return ResultadoRegistro.RECHAZADO;
+            }
+            resultado = delegado.registrar(alumno);
+            if (resultado != ResultadoRegistro.REGISTRADO) {
+                return resultado;
+            }
+            numero = registrar(GUARDAR, alumno, null, deshacerGuardar(alumno));
+        }
+        return confirmar(numero) ? resultado : ResultadoRegistro.RECHAZADO;
+    }
+    
+    @Override
+    public boolean actualizar(Alumno alumno) {
+        long numero;
+        synchronized (candadoEscritura) {
+            if (diarioFallido() || alumno == null) {
+                return false;
+            }
+            Runnable deshacer = deshacerCambio(alumno.getCodigoAlumno());
+            if (!delegado.actualizar(alumno)) {
+                return false;
+            }
+            numero = registrar(ACTUALIZAR, alumno, null, deshacer);
+        }
+        return confirmar(numero);
+    }
+    
+    @Override
+    public List<Boolean> guardarLote(List<Alumno> alumnos) {
+        List<Boolean> resultados;
+        long ultimo;
+        synchronized (candadoEscritura) {
+            if (diarioFallido()) {
+                return new ArrayList<>(Collections.nCopies(alumnos.size(), false));
+            }
+            resultados = new ArrayList<>(delegado.guardarLote(alumnos));
+            List<Runnable> deshacer = new ArrayList<>(alumnos.size());
+            for (Alumno alumno : alumnos) {
+                deshacer.add(deshacerGuardar(alumno));
+            }
+            ultimo = registrarLote(GUARDAR, alumnos, resultados, deshacer);
+        }
+        return confirmarLote(ultimo, resultados);
+    }
+    
+    @Override
+    public List<Boolean> actualizarLote(List<Alumno> alumnos) {
+        List<Boolean> resultados;
+        long ultimo;
+        synchronized (candadoEscritura) {
+            if (diarioFallido()) {
+                return new ArrayList<>(Collections.nCopies(alumnos.size(), false));
+            }
+            // Estados anteriores al lote: deshechos en orden inverso, un código
+            // repetido en el lote vuelve a su versión de antes del primero
+            List<Runnable> deshacer = new ArrayList<>(alumnos.size());
+            for (Alumno alumno : alumnos) {
+                deshacer.add(alumno != null ? deshacerCambio(alumno.getCodigoAlumno()) : null);
+            }
+            resultados = new ArrayList<>(delegado.actualizarLote(alumnos));
+            ultimo = registrarLote(ACTUALIZAR, alumnos, resultados, deshacer);
+        }
+        return confirmarLote(ultimo, resultados);
+    }
+    
+    @Override
+    public boolean eliminar(String codigoAlumno) {
+        long numero;
+        synchronized (candadoEscritura) {
+            if (diarioFallido()) {
+                return false;
+            }
+            Runnable deshacer = deshacerCambio(codigoAlumno);
+            if (!delegado.eliminar(codigoAlumno)) {
+                return false;
+            }
+            numero = registrar(ELIMINAR, null, codigoAlumno, deshacer);
+        }
+        return confirmar(numero);
+    }
+    
+    @Override
+    public void limpiar() {
+        long numero;
+        synchronized (candadoEscritura) {
+            if (diarioFallido()) {
+                return;
+            }
+            List<Alumno> anteriores = delegado.obtenerTodos();
+            delegado.limpiar();
+            numero = registrar(LIMPIAR, null, null, () -> anteriores.forEach(delegado::guardar));
+        }
+        confirmar(numero);
+    }
+    
+    /**
+     * Escribe una instantánea de todos los alumnos y vacía el diario
+     * @return true si la instantánea quedó en disco
+     */
+    public boolean compactar() {
+        synchronized (candadoEscritura) {
+            try {
+                escribirInstantanea();
+                return true;
+            } catch (IOException e) {
+                System.err.println("Error al compactar el diario: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+    
+    /**
+     * Cantidad de fsync realizados; con escrituras concurrentes es menor que
+     * la cantidad de registros escritos
+     */
+    public long getSincronizaciones() {
+        return diario.sincronizaciones();
+    }
+    
+    public long getRegistrosEscritos() {
+        return diario.registrosEscritos();
+    }
+    
+    // Rechaza la escritura antes de tocar el delegado si el diario ya falló;
+    // se llama con candadoEscritura tomado
+    private boolean diarioFallido() {
+        if (diario.fallido()) {
+            System.err.println("Escritura rechazada: el diario quedó inutilizable");
+            return true;
+        }
+        return false;
+    }
+    
+    // Deshace un alta: quita el alumno recién guardado
+    private Runnable deshacerGuardar(Alumno alumno) {
+        String codigo = alumno != null ? alumno.getCodigoAlumno() : null;
+        return () -> delegado.eliminar(codigo);
+    }
+    
+    // Deshace una modificación o baja: vuelve a la copia del estado actual. Se
+    // toma del delegado, no del alumno recibido, que quien llama ya modificó
+    private Runnable deshacerCambio(String codigoAlumno) {
+        Optional<Alumno> anterior = delegado.buscarPorCodigo(codigoAlumno).map(Alumno::new);
+        return () -> anterior.ifPresent(a -> {
+            if (!delegado.actualizar(a)) {
+                delegado.guardar(a);
+            }
+        });
+    }
+    
+    // Encola el registro en el diario y recuerda cómo deshacer la escritura
+    // hasta que esté en disco; se llama con candadoEscritura tomado
+    private long registrar(byte tipo, Alumno alumno, String codigoAlumno, Runnable deshacer) {
+        long durable = diario.ultimoDurable();
+        while (!sinConfirmar.isEmpty() && sinConfirmar.peekFirst().numero <= durable) {
+            sinConfirmar.pollFirst();
+        }
+        try {
+            long numero = diario.agregar(codificar(tipo, alumno, codigoAlumno));
+            sinConfirmar.addLast(new SinConfirmar(numero, deshacer));
+            return numero;
+        } catch (IOException e) {
+            System.err.println("Error al registrar en el diario: " + e.getMessage());
+            deshacer.run();
+            return -1;
+        }
+    }
+    
+    // Deshace, de la más nueva a la más vieja, las escrituras cuyo registro no
+    // llegó a disco; se llama con candadoEscritura tomado tras fallar el diario
+    private void deshacerSinConfirmar() {
+        long durable = diario.ultimoDurable();
+        while (!sinConfirmar.isEmpty() && sinConfirmar.peekLast().numero > durable) {
+            sinConfirmar.pollLast().deshacer.run();
+        }
+        sinConfirmar.clear();
+    }
+    
+    // Registra las filas aplicadas del lote y devuelve el número de la última
+    // (-1 si no hay ninguna); se llama con candadoEscritura tomado
+    private long registrarLote(byte tipo, List<Alumno> alumnos, List<Boolean> resultados,
+                               List<Runnable> deshacer) {
+        long ultimo = -1;
+        for (int i = 0; i < alumnos.size(); i++) {
+            if (resultados.get(i)) {
+                long numero = registrar(tipo, alumnos.get(i), null, deshacer.get(i));
+                resultados.set(i, numero >= 0);
+                ultimo = Math.max(ultimo, numero);
+            }
+        }
+        return ultimo;
+    }
+    
+    // Espera una sola vez, por el último registro: todo el lote comparte un fsync
+    private List<Boolean> confirmarLote(long ultimo, List<Boolean> resultados) {
+        if (ultimo >= 0 && !confirmar(ultimo)) {
+            Collections.fill(resultados, false);
+        }
+        return resultados;
+    }
+    
+    // Espera a que el registro esté en disco y compacta si el diario creció demasiado
+    private boolean confirmar(long numero) {
+        if (numero < 0) {
+            return false;
+        }
+        try {
+            diario.esperarDurable(numero);
+        } catch (IOException e) {
+            System.err.println("Error al escribir el diario: " + e.getMessage());
+            // Con el diario inutilizable, nada sin confirmar llegará a disco.
+            // Si solo se interrumpió la espera, el registro puede quedar escrito
+            // y no se deshace
+            if (diario.fallido()) {
+                synchronized (candadoEscritura) {
+                    deshacerSinConfirmar();
+                }
+            }
+            return false;
+        }
+        
+        if (diario.registrosDesdeReinicio() >= REGISTROS_POR_INSTANTANEA) {
+            synchronized (candadoEscritura) {
+                if (diario.registrosDesdeReinicio() >= REGISTROS_POR_INSTANTANEA) {
+                    try {
+                        escribirInstantanea();
+                    } catch (IOException e) {
+                        System.err.println("Error al compactar el diario: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return true;
+    }
+    
+    // ==================== INSTANTÁNEA Y RECUPERACIÓN ====================
+    
+    // Carga la instantánea y reaplica el diario de su generación
+    private void recuperar() throws IOException {
+        long generacionInstantanea = -1;
+        if (Files.exists(archivoInstantanea)) {
+            generacionInstantanea = leerInstantanea();
+        }
+        
+        List<byte[]> registros = diario.leerRegistros();
+        if (diario.generacion() >= generacionInstantanea) {
+            for (byte[] registro : registros) {
+                aplicar(registro);
+            }
+        }
+        
+        // Primer inicio o diario de una generación anterior: partir de una instantánea nueva
+        if (generacionInstantanea < 0 || diario.generacion() != generacionInstantanea) {
+            escribirInstantanea();
+        }
+    }
+    
+    // Se llama con candadoEscritura tomado (o durante la construcción)
+    private void escribirInstantanea() throws IOException {
+        // Todo lo encolado debe estar en disco antes de vaciar el diario
+        diario.esperarDurable(diario.ultimoAgregado());
+        
+        long generacion = diario.generacion() + 1;
+        List<Alumno> alumnos = delegado.obtenerTodos();
+        Path temporal = archivoInstantanea.resolveSibling(archivoInstantanea.getFileName() + ".tmp");
+        try (FileOutputStream archivo = new FileOutputStream(temporal.toFile());
+             DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(archivo))) {
+            salida.writeInt(MAGIA_INSTANTANEA);
+            salida.writeLong(generacion);
+            salida.writeInt(alumnos.size());
+            for (Alumno alumno : alumnos) {
+                escribirAlumno(salida, alumno);
+            }
+            salida.flush();
+            archivo.getFD().sync();
+        }
+        Files.move(temporal, archivoInstantanea,
+                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        diario.reiniciar(generacion);
+    }
+    
+    // Reemplaza el contenido del delegado por el de la instantánea y devuelve su generación
+    private long leerInstantanea() throws IOException {
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(archivoInstantanea)))) {
+            if (entrada.readInt() != MAGIA_INSTANTANEA) {
+                throw new IOException("Instantánea con formato desconocido: " + archivoInstantanea);
+            }
+            long generacion = entrada.readLong();
+            int cantidad = entrada.readInt();
+            delegado.limpiar();
+            for (int i = 0; i < cantidad; i++) {
+                delegado.guardar(leerAlumno(entrada));
+            }
+            return generacion;
+        }
+    }
+    
+    private void aplicar(byte[] registro) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(registro));
+        byte tipo = entrada.readByte();
+        switch (tipo) {
+            case GUARDAR:
+                delegado.guardar(leerAlumno(entrada));
+                break;
+            case ACTUALIZAR:
+                delegado.actualizar(leerAlumno(entrada));
+                break;
+            case ELIMINAR:
+                delegado.eliminar(entrada.readUTF());
+                break;
+            case LIMPIAR:
+                delegado.limpiar();
+                break;
+            default:
+                throw new IOException("Tipo de registro desconocido en el diario: " + tipo);
+        }
+    }
+    
+    // ==================== FORMATO ====================
+    
+    private static byte[] codificar(byte tipo, Alumno alumno, String codigoAlumno) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream salida = new DataOutputStream(bytes);
+        salida.writeByte(tipo);
+        if (alumno != null) {
+            escribirAlumno(salida, alumno);
+        } else if (codigoAlumno != null) {
+            salida.writeUTF(codigoAlumno);
+        }
+        salida.flush();
+        return bytes.toByteArray();
+    }
+    
+    private static void escribirAlumno(DataOutputStream salida, Alumno a) throws IOException {
+        escribirTexto(salida, a.getCodigoAlumno());
+        escribirTexto(salida, a.getNombre());
+        escribirTexto(salida, a.getApellido());
+        escribirTexto(salida, a.getDni());
+        escribirTexto(salida, a.getFechaNacimiento());
+        escribirTexto(salida, a.getDireccion());
+        escribirTexto(salida, a.getTelefono());
+        escribirTexto(salida, a.getEmail());
+        escribirTexto(salida, a.getCarrera());
+        salida.writeInt(a.getCiclo());
+        salida.writeDouble(a.getPromedio());
+        escribirTexto(salida, a.getEstado());
+        escribirTexto(salida, a.getFechaIngreso());
+        salida.writeInt(a.getCreditosAcumulados());
+    }
+    
+    private static Alumno leerAlumno(DataInputStream entrada) throws IOException {
+        String codigo = leerTexto(entrada);
+        String nombre = leerTexto(entrada);
+        String apellido = leerTexto(entrada);
+        String dni = leerTexto(entrada);
+        String fechaNacimiento = leerTexto(entrada);
+        String direccion = leerTexto(entrada);
+        String telefono = leerTexto(entrada);
+        String email = leerTexto(entrada);
+        String carrera = leerTexto(entrada);
+        int ciclo = entrada.readInt();
+        double promedio = entrada.readDouble();
+        String estado = leerTexto(entrada);
+        String fechaIngreso = leerTexto(entrada);
+        int creditos = entrada.readInt();
+        return new Alumno(nombre, apellido, dni, fechaNacimiento, direccion, telefono, email,
+                          codigo, carrera, ciclo, promedio, estado, fechaIngreso, creditos);
+    }
+    
+    // Texto que puede ser null: marca de presencia seguida del texto
+    private static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        salida.writeBoolean(texto != null);
+        if (texto != null) {
+            salida.writeUTF(texto);
+        }
+    }
+    
+    private static String leerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+    
+    // ==================== LECTURAS DELEGADAS ====================
+    
+    @Override
+    public Optional<Alumno> buscarPorCodigo(String codigoAlumno) {
+        return delegado.buscarPorCodigo(codigoAlumno);
+    }
+    
+    @Override
+    public Map<String, Alumno> buscarPorCodigos(Collection<String> codigos) {
+        return delegado.buscarPorCodigos(codigos);
+    }
+    
+    @Override
+    public List<Alumno> obtenerTodos() {
+        return delegado.obtenerTodos();
+    }
+    
+    @Override
+    public Stream<Alumno> recorrerTodos() {
+        return delegado.recorrerTodos();
+    }
+    
+    @Override
+    public List<Alumno> buscarPorNombre(String termino) {
+        return delegado.buscarPorNombre(termino);
+    }
+    
+    @Override
+    public Optional<Alumno> buscarPorDNI(String dni) {
+        return delegado.buscarPorDNI(dni);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCarrera(String carrera) {
+        return delegado.buscarPorCarrera(carrera);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorEstado(String estado) {
+        return delegado.buscarPorEstado(estado);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCiclo(int ciclo) {
+        return delegado.buscarPorCiclo(ciclo);
+    }
+    
+    @Override
+    public int contarTotal() {
+        return delegado.contarTotal();
+    }
+    
+    @Override
+    public int contarPorEstado(String estado) {
+        return delegado.contarPorEstado(estado);
+    }
+    
+    @Override
+    public List<Alumno> obtenerEnRiesgoAcademico() {
+        return delegado.obtenerEnRiesgoAcademico();
+    }
+    
+    @Override
+    public List<Alumno> obtenerMejoresPromedios(int limite) {
+        return delegado.obtenerMejoresPromedios(limite);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorRangoPromedio(String estado, double minimo, double maximo) {
+        return delegado.buscarPorRangoPromedio(estado, minimo, maximo);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCriterios(String carrera, String estado,
+                                           int cicloMinimo, double promedioMinimo) {
+        return delegado.buscarPorCriterios(carrera, estado, cicloMinimo, promedioMinimo);
+    }
+    
+    @Override
+    public List<AlumnoResumen> buscarResumenPorNombre(String termino) {
+        return delegado.buscarResumenPorNombre(termino);
+    }
+    
+    @Override
+    public PaginaResumen obtenerPaginaResumen(String continuacion, int tamanio) {
+        return delegado.obtenerPaginaResumen(continuacion, tamanio);
+    }
+    
+    @Override
+    public PaginaAlumnos obtenerPagina(String continuacion, int tamanio) {
+        return delegado.obtenerPagina(continuacion, tamanio);
+    }
+    
+    @Override
+    public EstadisticasDTO obtenerEstadisticas() {
+        return delegado.obtenerEstadisticas();
+    }
+    
+    @Override
+    public boolean existe(String codigoAlumno) {
+        return delegado.existe(codigoAlumno);
+    }
+    
+    @Override
+    public boolean existePorDNI(String dni) {
+        return delegado.existePorDNI(dni);
+    }
+    
+    @Override
+    public String obtenerFuenteDatos() {
+        return delegado.obtenerFuenteDatos() + " + diario de escrituras";
+    }
+    
+    @Override
+    public boolean seguroParaHilos() {
+        // Las escrituras se serializan aquí; las lecturas van directo al delegado
+        return delegado.seguroParaHilos();
+    }
+    
+    // Escritura aplicada en el delegado cuyo registro aún no está en disco
+    private static final class SinConfirmar {
+        private final long numero;
+        private final Runnable deshacer;
+        
+        SinConfirmar(long numero, Runnable deshacer) {
+            this.numero = numero;
+            this.deshacer = deshacer;
+        }
+    }
+}
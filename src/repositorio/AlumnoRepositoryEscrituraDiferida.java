@@ -0,0 +1,481 @@
+package src.repositorio;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import src.modelo.*;
+
+/**
+ * Repositorio con escritura diferida (write-behind) de las actualizaciones
+ *
+ * actualizar() deja la nueva versión del alumno en un buffer y vuelve sin
+ * esperar a la base de datos. Varias actualizaciones del mismo código antes
+ * del siguiente vaciado se combinan en una sola. El buffer se escribe con
+ * actualizarLote() (un lote por transacción en MySQL) cuando llega a
+ * FILAS_POR_VACIADO alumnos o cada INTERVALO_VACIADO_MS, lo que ocurra antes.
+ *
+ * Lecturas: buscarPorCodigo y existe responden con la versión pendiente si la
+ * hay; las demás consultas vacían antes el buffer. Así cada lectura ve las
+ * escrituras ya confirmadas. guardar, registrar y eliminar también vacían el
+ * buffer antes, para conservar el orden de las escrituras.
+ *
+ * Como la confirmación llega antes de escribir, una actualización que falla al
+ * vaciar no se pierde: vuelve al buffer (salvo que ya haya llegado una versión
+ * más nueva del mismo alumno) y se reintenta en los vaciados periódicos, cada
+ * vez más espaciados (de INTERVALO_VACIADO_MS hasta ESPERA_MAXIMA_MS). Solo se
+ * descarta si el rechazo es definitivo: la fila falló en un vaciado donde otras
+ * sí se escribieron (el alumno no existe, DNI repetido), o falló en
+ * MAXIMO_INTENTOS reintentos periódicos seguidos (unos 12 minutos). Las descartadas se registran en System.err
+ * y en las métricas. Las actualizaciones pendientes se pierden si el proceso
+ * termina de forma abrupta; al cerrar la JVM normalmente se vacían.
+ */
+public class AlumnoRepositoryEscrituraDiferida implements IAlumnoRepository {
+    
+    // Alumnos pendientes que disparan un vaciado (igual al lote de MySQL)
+    private static final int FILAS_POR_VACIADO = 500;
+    private static final long INTERVALO_VACIADO_MS = 200;
+    
+    // Reintentos de las filas que no se pudieron escribir
+    private static final long ESPERA_MAXIMA_MS = 60_000;
+    private static final int MAXIMO_INTENTOS = 20;
+    
+    private final IAlumnoRepository delegado;
+    private final ScheduledExecutorService vaciador;
+    
+    // Serializa los vaciados y las escrituras directas al delegado
+    private final Object candadoVaciado = new Object();
+    
+    // Protegidos por this: pendientes por código (en orden de llegada) y el
+    // lote que se está escribiendo, visible para las lecturas hasta que termine
+    private LinkedHashMap<String, Alumno> pendientes = new LinkedHashMap<>();
+    private Map<String, Alumno> enVuelo = Collections.emptyMap();
+    private long primeraPendienteNanos;
+    
+    // Protegidos por this: vaciados fallidos seguidos de cada código, y el
+    // momento a partir del cual el vaciado periódico vuelve a intentar
+    private final Map<String, Integer> intentos = new HashMap<>();
+    private int vaciadosFallidosSeguidos;
+    private long proximoIntentoNanos = System.nanoTime();
+    
+    // Métricas
+    private long recibidas;
+    private long combinadas;
+    private long vaciados;
+    private long filasEscritas;
+    private long fallidas;
+    private long reintentadas;
+    private long descartadas;
+    private long retrasoMaximoNanos;
+    
+    private static AlumnoRepositoryEscrituraDiferida instancia;
+    
+    /**
+     * @param delegado Repositorio donde se escriben las actualizaciones
+     */
+    public AlumnoRepositoryEscrituraDiferida(IAlumnoRepository delegado) {
+        this.delegado = delegado;
+        this.vaciador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "escritura-diferida");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        vaciador.scheduleWithFixedDelay(this::vaciarPorTiempo, INTERVALO_VACIADO_MS,
+                                        INTERVALO_VACIADO_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::vaciar, "escritura-diferida-cierre"));
+    }
+    
+    // Método para obtener la instancia única (sobre AlumnoRepositoryMySQL)
+    public static synchronized AlumnoRepositoryEscrituraDiferida getInstancia() {
+        if (instancia == null) {
+            instancia = new AlumnoRepositoryEscrituraDiferida(AlumnoRepositoryMySQL.getInstancia());
+        }
+        return instancia;
+    }
+    
+    /**
+     * Escribe en el delegado todas las actualizaciones pendientes y espera a que
+     * terminen. Las que fallan por un error pasajero quedan pendientes
+     */
+    public void vaciar() {
+        synchronized (candadoVaciado) {
+            List<Alumno> lote;
+            long desde;
+            boolean reintentoPeriodico;
+            synchronized (this) {
+                if (pendientes.isEmpty()) {
+                    return;
+                }
+                // Los vaciados pedidos antes de tiempo (lecturas, escrituras
+                // directas) también intentan, pero sus fallas no cuentan
+                reintentoPeriodico = puedeReintentar();
+                enVuelo = pendientes;
+                pendientes = new LinkedHashMap<>();
+                desde = primeraPendienteNanos;
+                lote = new ArrayList<>(enVuelo.values());
+            }
+            
+            // De a FILAS_POR_VACIADO (una transacción en MySQL): si el delegado
+            // aceptó otras filas del mismo lote, las rechazadas lo son por sí mismas
+            List<Boolean> resultados = new ArrayList<>(lote.size());
+            List<Boolean> definitivas = new ArrayList<>(lote.size());
+            int escritasLote = 0;
+            for (int inicio = 0; inicio < lote.size(); inicio += FILAS_POR_VACIADO) {
+                List<Alumno> parte = lote.subList(inicio, Math.min(inicio + FILAS_POR_VACIADO, lote.size()));
+                List<Boolean> resultadosParte;
+                try {
+                    resultadosParte = delegado.actualizarLote(parte);
+                } catch (RuntimeException e) {
+                    System.err.println("Error al escribir actualizaciones diferidas: " + e.getMessage());
+                    resultadosParte = Collections.nCopies(parte.size(), false);
+                }
+                boolean algunaEscrita = resultadosParte.contains(true);
+                for (Boolean escrita : resultadosParte) {
+                    resultados.add(escrita);
+                    definitivas.add(algunaEscrita);
+                    if (escrita) {
+                        escritasLote++;
+                    }
+                }
+            }
+            
+            synchronized (this) {
+                LinkedHashMap<String, Alumno> aReintentar = new LinkedHashMap<>();
+                for (int i = 0; i < lote.size(); i++) {
+                    String codigo = lote.get(i).getCodigoAlumno();
+                    if (resultados.get(i)) {
+                        intentos.remove(codigo);
+                        continue;
+                    }
+                    fallidas++;
+                    int intento = reintentoPeriodico ? intentos.merge(codigo, 1, Integer::sum)
+                                                     : intentos.getOrDefault(codigo, 0);
+                    if (definitivas.get(i) || intento >= MAXIMO_INTENTOS) {
+                        intentos.remove(codigo);
+                        descartadas++;
+                        System.err.println("Se descarta la actualización diferida del alumno " + codigo +
+                                           (definitivas.get(i) ? ": el repositorio la rechazó"
+                                                               : " tras " + intento + " intentos"));
+                    } else if (!pendientes.containsKey(codigo)) {
+                        // Una versión más nueva ya pendiente reemplaza a la que falló
+                        aReintentar.put(codigo, lote.get(i));
+                        reintentadas++;
+                    }
+                }
+                if (!aReintentar.isEmpty()) {
+                    // Las reintentadas van primero: son más antiguas que las pendientes
+                    aReintentar.putAll(pendientes);
+                    pendientes = aReintentar;
+                    primeraPendienteNanos = desde;
+                }
+                
+                if (escritasLote > 0) {
+                    vaciadosFallidosSeguidos = 0;
+                    proximoIntentoNanos = System.nanoTime();
+                } else if (reintentoPeriodico) {
+                    vaciadosFallidosSeguidos++;
+                    proximoIntentoNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(espera());
+                }
+                enVuelo = Collections.emptyMap();
+                vaciados++;
+                filasEscritas += escritasLote;
+                retrasoMaximoNanos = Math.max(retrasoMaximoNanos, System.nanoTime() - desde);
+            }
+        }
+    }
+    
+    // Espera antes del siguiente vaciado periódico: se duplica con cada vaciado
+    // que no escribió nada, hasta ESPERA_MAXIMA_MS. Se llama con this tomado
+    private long espera() {
+        int duplicaciones = Math.min(vaciadosFallidosSeguidos - 1, 30);
+        return Math.min(INTERVALO_VACIADO_MS << duplicaciones, ESPERA_MAXIMA_MS);
+    }
+    
+    /**
+     * Detiene el vaciado periódico y escribe lo pendiente (al detener la aplicación)
+     */
+    public void cerrar() {
+        vaciador.shutdown();
+        vaciar();
+    }
+    
+    /**
+     * Obtiene las métricas del buffer: pendientes, retraso y actualizaciones combinadas
+     */
+    public synchronized MetricasEscrituraDiferida obtenerMetricas() {
+        double retrasoActualMs = pendientes.isEmpty() ? 0.0
+                : (System.nanoTime() - primeraPendienteNanos) / 1_000_000.0;
+        return new MetricasEscrituraDiferida(pendientes.size(), retrasoActualMs,
+                                             retrasoMaximoNanos / 1_000_000.0, recibidas,
+                                             combinadas, vaciados, filasEscritas, fallidas,
+                                             reintentadas, descartadas);
+    }
+    
+    // Una excepción no capturada cancelaría las ejecuciones siguientes. Tras
+    // vaciados fallidos espera a que pase el tiempo de reintento
+    private void vaciarPorTiempo() {
+        try {
+            if (puedeReintentar()) {
+                vaciar();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error en el vaciado periódico: " + e.getMessage());
+        }
+    }
+    
+    private synchronized boolean puedeReintentar() {
+        return System.nanoTime() - proximoIntentoNanos >= 0;
+    }
+    
+    // ==================== ESCRITURAS DIFERIDAS ====================
+    
+    @Override
+    public boolean actualizar(Alumno alumno) {
+        if (alumno == null || !alumno.validarDatos()) {
+            return false;
+        }
+        boolean lleno;
+        synchronized (this) {
+            if (pendientes.isEmpty()) {
+                primeraPendienteNanos = System.nanoTime();
+            }
+            // Copia: quien llama puede seguir modificando su objeto
+            if (pendientes.put(alumno.getCodigoAlumno(), new Alumno(alumno)) != null) {
+                combinadas++;
+            }
+            recibidas++;
+            lleno = pendientes.size() >= FILAS_POR_VACIADO && puedeReintentar();
+        }
+        if (lleno) {
+            vaciar();
+        }
+        return true;
+    }
+    
+    @Override
+    public List<Boolean> actualizarLote(List<Alumno> alumnos) {
+        List<Boolean> resultados = new ArrayList<>(alumnos.size());
+        for (Alumno alumno : alumnos) {
+            resultados.add(actualizar(alumno));
+        }
+        return resultados;
+    }
+    
+    // ==================== ESCRITURAS DIRECTAS ====================
+    
+    @Override
+    public boolean guardar(Alumno alumno) {
+        synchronized (candadoVaciado) {
+            vaciar();
+            return delegado.guardar(alumno);
+        }
+    }
+    
+    @Override
+    public ResultadoRegistro registrar(Alumno alumno) {
+        synchronized (candadoVaciado) {
+            vaciar();
+            return delegado.registrar(alumno);
+        }
+    }
+    
+    @Override
+    public List<Boolean> guardarLote(List<Alumno> alumnos) {
+        synchronized (candadoVaciado) {
+            vaciar();
+            return delegado.guardarLote(alumnos);
+        }
+    }
+    
+    @Override
+    public boolean eliminar(String codigoAlumno) {
+        synchronized (candadoVaciado) {
+            vaciar();
+            return delegado.eliminar(codigoAlumno);
+        }
+    }
+    
+    @Override
+    public void limpiar() {
+        synchronized (candadoVaciado) {
+            synchronized (this) {
+                pendientes.clear();
+                intentos.clear();
+                vaciadosFallidosSeguidos = 0;
+                proximoIntentoNanos = System.nanoTime();
+            }
+            delegado.limpiar();
+        }
+    }
+    
+    // ==================== LECTURAS ====================
+    
+    @Override
+    public Optional<Alumno> buscarPorCodigo(String codigoAlumno) {
+        Alumno pendiente = buscarPendiente(codigoAlumno);
+        return pendiente != null ? Optional.of(pendiente) : delegado.buscarPorCodigo(codigoAlumno);
+    }
+    
+    @Override
+    public Map<String, Alumno> buscarPorCodigos(Collection<String> codigos) {
+        // Las versiones pendientes tapan a las del delegado; el resto en una sola consulta
+        Map<String, Alumno> encontrados = new HashMap<>();
+        List<String> faltantes = new ArrayList<>();
+        for (String codigo : codigos) {
+            Alumno pendiente = buscarPendiente(codigo);
+            if (pendiente != null) {
+                encontrados.put(codigo, pendiente);
+            } else {
+                faltantes.add(codigo);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            delegado.buscarPorCodigos(faltantes).forEach(encontrados::putIfAbsent);
+        }
+        return encontrados;
+    }
+    
+    @Override
+    public boolean existe(String codigoAlumno) {
+        return buscarPendiente(codigoAlumno) != null || delegado.existe(codigoAlumno);
+    }
+    
+    // Copia de la versión pendiente o en escritura, o null si no hay
+    private synchronized Alumno buscarPendiente(String codigoAlumno) {
+        Alumno pendiente = pendientes.get(codigoAlumno);
+        if (pendiente == null) {
+            pendiente = enVuelo.get(codigoAlumno);
+        }
+        return pendiente != null ? new Alumno(pendiente) : null;
+    }
+    
+    // Las actualizaciones no cambian la cantidad de alumnos
+    @Override
+    public int contarTotal() {
+        return delegado.contarTotal();
+    }
+    
+    // El resto de las lecturas vacía el buffer para ver las escrituras pendientes
+    
+    @Override
+    public List<Alumno> obtenerTodos() {
+        vaciar();
+        return delegado.obtenerTodos();
+    }
+    
+    @Override
+    public Stream<Alumno> recorrerTodos() {
+        vaciar();
+        return delegado.recorrerTodos();
+    }
+    
+    @Override
+    public List<Alumno> buscarPorNombre(String termino) {
+        vaciar();
+        return delegado.buscarPorNombre(termino);
+    }
+    
+    @Override
+    public Optional<Alumno> buscarPorDNI(String dni) {
+        vaciar();
+        return delegado.buscarPorDNI(dni);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCarrera(String carrera) {
+        vaciar();
+        return delegado.buscarPorCarrera(carrera);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorEstado(String estado) {
+        vaciar();
+        return delegado.buscarPorEstado(estado);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCiclo(int ciclo) {
+        vaciar();
+        return delegado.buscarPorCiclo(ciclo);
+    }
+    
+    @Override
+    public int contarPorEstado(String estado) {
+        vaciar();
+        return delegado.contarPorEstado(estado);
+    }
+    
+    @Override
+    public List<Alumno> obtenerEnRiesgoAcademico() {
+        vaciar();
+        return delegado.obtenerEnRiesgoAcademico();
+    }
+    
+    @Override
+    public List<Alumno> obtenerMejoresPromedios(int limite) {
+        vaciar();
+        return delegado.obtenerMejoresPromedios(limite);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorRangoPromedio(String estado, double minimo, double maximo) {
+        vaciar();
+        return delegado.buscarPorRangoPromedio(estado, minimo, maximo);
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCriterios(String carrera, String estado,
+                                           int cicloMinimo, double promedioMinimo) {
+        vaciar();
+        return delegado.buscarPorCriterios(carrera, estado, cicloMinimo, promedioMinimo);
+    }
+    
+    @Override
+    public List<AlumnoResumen> buscarResumenPorNombre(String termino) {
+        vaciar();
+        return delegado.buscarResumenPorNombre(termino);
+    }
+    
+    @Override
+    public PaginaResumen obtenerPaginaResumen(String continuacion, int tamanio) {
+        vaciar();
+        return delegado.obtenerPaginaResumen(continuacion, tamanio);
+    }
+    
+    @Override
+    public PaginaAlumnos obtenerPagina(String continuacion, int tamanio) {
+        vaciar();
+        return delegado.obtenerPagina(continuacion, tamanio);
+    }
+    
+    @Override
+    public EstadisticasDTO obtenerEstadisticas() {
+        vaciar();
+        return delegado.obtenerEstadisticas();
+    }
+    
+    @Override
+    public boolean existePorDNI(String dni) {
+        vaciar();
+        return delegado.existePorDNI(dni);
+    }
+    
+    @Override
+    public String obtenerFuenteDatos() {
+        return delegado.obtenerFuenteDatos() + " + escritura diferida";
+    }
+    
+    @Override
+    public boolean seguroParaHilos() {
+        // El vaciado en segundo plano escribe en el delegado mientras otros leen
+        return delegado.seguroParaHilos();
+    }
+}
@@ -0,0 +1,670 @@
+package src.repositorio;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import src.modelo.*;
+
+/**
+ * Implementación del repositorio de Alumnos sobre archivos mapeados en memoria
+ *
+ * Los alumnos viven fuera del heap de Java, en dos archivos mapeados con
+ * FileChannel.map:
+ * - alumnos.reg: una cabecera y un registro de tamaño fijo por alumno (números,
+ *   estado, fechas en días y referencias posición/longitud a sus textos).
+ * - alumnos.cad: montículo de textos en UTF-8, solo se agrega al final. Los
+ *   textos reemplazados o de alumnos eliminados quedan como basura; cuando la
+ *   basura supera la mitad del montículo (al abrir o tras una escritura) se
+ *   compacta, corriendo los textos en uso hacia el principio.
+ *
+ * Al reiniciar basta con volver a mapear los archivos (el sistema operativo
+ * conserva las páginas en caché) y reconstruir los índices de código y DNI.
+ * Los recorridos para conteos y estadísticas leen los campos directamente del
+ * archivo, sin crear objetos. Los Alumno devueltos son copias: los cambios se
+ * persisten llamando a actualizar().
+ *
+ * Las escrituras no son atómicas frente a una caída del proceso; sincronizar()
+ * fuerza los cambios a disco. Cada archivo admite hasta 2 GB.
+ */
+public class AlumnoRepositoryMapeado implements IAlumnoRepository {
+    
+    private static final String DIRECTORIO_DATOS = "datos";
+    private static final int MAGIA = 0x414C554D; // "ALUM"
+    private static final int VERSION = 1;
+    private static final double LIMITE_RIESGO = 11.0;
+    private static final EstadoAlumno[] ESTADOS = EstadoAlumno.values();
+    private static final byte ACTIVO = (byte) EstadoAlumno.ACTIVO.ordinal();
+    
+    // Cabecera de alumnos.reg
+    private static final int CAB_MAGIA = 0;
+    private static final int CAB_VERSION = 4;
+    private static final int CAB_FILAS = 8;
+    private static final int CAB_BYTES_CADENAS = 12;
+    private static final int TAMANIO_CABECERA = 64;
+    
+    // Desplazamientos dentro de cada registro. Los textos son referencias de 8
+    // bytes: posición en alumnos.cad (int) y longitud (int, -1 = null)
+    private static final int REF_CODIGO = 0;
+    private static final int REF_NOMBRE = 8;
+    private static final int REF_APELLIDO = 16;
+    private static final int REF_DNI = 24;
+    private static final int REF_DIRECCION = 32;
+    private static final int REF_TELEFONO = 40;
+    private static final int REF_EMAIL = 48;
+    private static final int REF_CARRERA = 56;
+    private static final int CICLO = 64;
+    private static final int CREDITOS = 68;
+    private static final int FECHA_NACIMIENTO = 72;
+    private static final int FECHA_INGRESO = 76;
+    private static final int PROMEDIO = 80;
+    private static final int ESTADO = 88;
+    private static final int TAMANIO_REGISTRO = 96;
+    
+    // Textos propios de cada registro (la carrera se comparte entre registros)
+    private static final int[] REFERENCIAS_PROPIAS = {
+        REF_CODIGO, REF_NOMBRE, REF_APELLIDO, REF_DNI, REF_DIRECCION, REF_TELEFONO, REF_EMAIL
+    };
+    
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final int BYTES_CADENAS_INICIALES = 64 * 1024;
+    
+    private final FileChannel canalRegistros;
+    private final FileChannel canalCadenas;
+    private MappedByteBuffer registros;
+    private MappedByteBuffer cadenas;
+    private int filas;
+    private int bytesCadenas;
+    
+    // Bytes de alumnos.cad que ya no referencia ningún registro
+    private long bytesBasura;
+    
+    // Índices en el heap: código y DNI -> fila, y carrera -> referencia compartida
+    private final Map<String, Integer> filaPorCodigo;
+    private final Map<String, Integer> filaPorDNI;
+    private final Map<String, Long> referenciaPorCarrera;
+    
+    private static AlumnoRepositoryMapeado instancia;
+    
+    // Constructor privado (Singleton)
+    private AlumnoRepositoryMapeado(Path directorio) {
+        this.filaPorCodigo = new HashMap<>();
+        this.filaPorDNI = new HashMap<>();
+        this.referenciaPorCarrera = new HashMap<>();
+        try {
+            Files.createDirectories(directorio);
+            this.canalRegistros = abrir(directorio.resolve("alumnos.reg"));
+            this.canalCadenas = abrir(directorio.resolve("alumnos.cad"));
+            this.registros = mapear(canalRegistros,
+                    Math.max(canalRegistros.size(), TAMANIO_CABECERA + (long) CAPACIDAD_INICIAL * TAMANIO_REGISTRO));
+            this.cadenas = mapear(canalCadenas, Math.max(canalCadenas.size(), BYTES_CADENAS_INICIALES));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo abrir el almacenamiento en " + directorio, e);
+        }
+        
+        if (registros.getInt(CAB_MAGIA) == MAGIA && registros.getInt(CAB_VERSION) == VERSION) {
+            cargarExistentes();
+            compactarSiConviene();
+        } else {
+            escribirCabecera();
+            AlumnoRepositoryMemoria.datosIniciales().forEach(this::guardar);
+        }
+    }
+    
+    // Método para obtener la instancia única
+    public static synchronized AlumnoRepositoryMapeado getInstancia() {
+        if (instancia == null) {
+            instancia = new AlumnoRepositoryMapeado(Paths.get(DIRECTORIO_DATOS));
+        }
+        return instancia;
+    }
+    
+    @Override
+    public synchronized boolean guardar(Alumno alumno) {
+        if (alumno == null || !alumno.validarDatos()) {
+            return false;
+        }
+        
+        if (existe(alumno.getCodigoAlumno()) || existePorDNI(alumno.getDni())) {
+            return false;
+        }
+        
+        try {
+            asegurarCapacidadRegistros(filas + 1);
+            int fila = filas;
+            escribirRegistro(fila, alumno, false);
+            filas++;
+            registros.putInt(CAB_FILAS, filas);
+        } catch (IOException e) {
+            System.err.println("Error al guardar alumno: " + e.getMessage());
+            return false;
+        }
+        
+        filaPorCodigo.put(alumno.getCodigoAlumno(), filas - 1);
+        filaPorDNI.put(alumno.getDni(), filas - 1);
+        return true;
+    }
+    
+    @Override
+    public synchronized boolean actualizar(Alumno alumno) {
+        if (alumno == null || !alumno.validarDatos()) {
+            return false;
+        }
+        
+        Integer fila = filaPorCodigo.get(alumno.getCodigoAlumno());
+        if (fila == null) {
+            return false;
+        }
+        
+        // Verificar que el DNI no esté duplicado en otro alumno
+        Integer filaConDNI = filaPorDNI.get(alumno.getDni());
+        if (filaConDNI != null && !filaConDNI.equals(fila)) {
+            return false;
+        }
+        
+        String dniAnterior = leerTexto(fila, REF_DNI);
+        try {
+            escribirRegistro(fila, alumno, true);
+        } catch (IOException e) {
+            System.err.println("Error al actualizar alumno: " + e.getMessage());
+            return false;
+        }
+        filaPorDNI.remove(dniAnterior);
+        filaPorDNI.put(alumno.getDni(), fila);
+        compactarSiConviene();
+        return true;
+    }
+    
+    @Override
+    public synchronized boolean eliminar(String codigoAlumno) {
+        Integer fila = filaPorCodigo.remove(codigoAlumno);
+        if (fila == null) {
+            return false;
+        }
+        filaPorDNI.remove(leerTexto(fila, REF_DNI));
+        bytesBasura += bytesPropios(fila);
+        
+        // Mover el último registro al hueco para mantener el archivo compacto
+        int ultima = filas - 1;
+        if (fila != ultima) {
+            copiarRegistro(ultima, fila);
+            filaPorCodigo.put(leerTexto(fila, REF_CODIGO), fila);
+            filaPorDNI.put(leerTexto(fila, REF_DNI), fila);
+        }
+        filas = ultima;
+        registros.putInt(CAB_FILAS, filas);
+        compactarSiConviene();
+        return true;
+    }
+    
+    @Override
+    public synchronized Optional<Alumno> buscarPorCodigo(String codigoAlumno) {
+        Integer fila = filaPorCodigo.get(codigoAlumno);
+        return fila != null ? Optional.of(materializar(fila)) : Optional.empty();
+    }
+    
+    @Override
+    public synchronized List<Alumno> obtenerTodos() {
+        List<Alumno> alumnos = new ArrayList<>(filas);
+        for (int fila = 0; fila < filas; fila++) {
+            alumnos.add(materializar(fila));
+        }
+        return alumnos;
+    }
+    
+    @Override
+    public synchronized List<Alumno> buscarPorNombre(String termino) {
+        String terminoLower = termino.toLowerCase();
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int fila = 0; fila < filas; fila++) {
+            String nombre = leerTexto(fila, REF_NOMBRE).toLowerCase();
+            String apellido = leerTexto(fila, REF_APELLIDO).toLowerCase();
+            if (nombre.contains(terminoLower) || apellido.contains(terminoLower) ||
+                (nombre + " " + apellido).contains(terminoLower)) {
+                alumnos.add(materializar(fila));
+            }
+        }
+        alumnos.sort(ordenAlfabetico());
+        return alumnos;
+    }
+    
+    @Override
+    public synchronized Optional<Alumno> buscarPorDNI(String dni) {
+        Integer fila = filaPorDNI.get(dni);
+        return fila != null ? Optional.of(materializar(fila)) : Optional.empty();
+    }
+    
+    @Override
+    public synchronized List<Alumno> buscarPorCarrera(String carrera) {
+        // Cada carrera se guarda una sola vez: se comparan referencias, no textos
+        List<Long> buscadas = new ArrayList<>();
+        referenciaPorCarrera.forEach((valor, referencia) -> {
+            if (valor.equalsIgnoreCase(carrera)) {
+                buscadas.add(referencia);
+            }
+        });
+        
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int fila = 0; fila < filas && !buscadas.isEmpty(); fila++) {
+            if (buscadas.contains(registros.getLong(posicion(fila) + REF_CARRERA))) {
+                alumnos.add(materializar(fila));
+            }
+        }
+        alumnos.sort(ordenAlfabetico());
+        return alumnos;
+    }
+    
+    @Override
+    public synchronized List<Alumno> buscarPorCriterios(String carrera, String estado,
+                                                        int cicloMinimo, double promedioMinimo) {
+        List<Long> carrerasBuscadas = new ArrayList<>();
+        if (carrera != null) {
+            referenciaPorCarrera.forEach((valor, referencia) -> {
+                if (valor.equalsIgnoreCase(carrera)) {
+                    carrerasBuscadas.add(referencia);
+                }
+            });
+            if (carrerasBuscadas.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        int estadoBuscado = estado != null ? codigoEstado(estado) : -1;
+        
+        // Se evalúa sobre los campos del registro; solo se materializan las coincidencias
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int fila = 0; fila < filas; fila++) {
+            int base = posicion(fila);
+            if ((carrera == null || carrerasBuscadas.contains(registros.getLong(base + REF_CARRERA))) &&
+                (estado == null || estado(fila) == estadoBuscado) &&
+                registros.getInt(base + CICLO) >= cicloMinimo &&
+                promedio(fila) >= promedioMinimo) {
+                alumnos.add(materializar(fila));
+            }
+        }
+        return alumnos;
+    }
+    
+    @Override
+    public synchronized List<Alumno> buscarPorEstado(String estado) {
+        int buscado = codigoEstado(estado);
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int fila = 0; fila < filas; fila++) {
+            if (estado(fila) == buscado) {
+                alumnos.add(materializar(fila));
+            }
+        }
+        alumnos.sort(ordenAlfabetico());
+        return alumnos;
+    }
+    
+    @Override
+    public synchronized List<Alumno> buscarPorCiclo(int ciclo) {
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int fila = 0; fila < filas; fila++) {
+            if (registros.getInt(posicion(fila) + CICLO) == ciclo) {
+                alumnos.add(materializar(fila));
+            }
+        }
+        alumnos.sort(ordenAlfabetico());
+        return alumnos;
+    }
+    
+    @Override
+    public synchronized int contarTotal() {
+        return filas;
+    }
+    
+    @Override
+    public synchronized int contarPorEstado(String estado) {
+        int buscado = codigoEstado(estado);
+        int total = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (estado(fila) == buscado) {
+                total++;
+            }
+        }
+        return total;
+    }
+    
+    @Override
+    public synchronized List<Alumno> obtenerEnRiesgoAcademico() {
+        List<Alumno> alumnos = new ArrayList<>();
+        for (int fila = 0; fila < filas; fila++) {
+            if (estado(fila) == ACTIVO && promedio(fila) < LIMITE_RIESGO) {
+                alumnos.add(materializar(fila));
+            }
+        }
+        alumnos.sort(Comparator.comparingDouble(Alumno::getPromedio));
+        return alumnos;
+    }
+    
+    @Override
+    public synchronized boolean existe(String codigoAlumno) {
+        return filaPorCodigo.containsKey(codigoAlumno);
+    }
+    
+    @Override
+    public synchronized boolean existePorDNI(String dni) {
+        return filaPorDNI.containsKey(dni);
+    }
+    
+    @Override
+    public synchronized void limpiar() {
+        filas = 0;
+        bytesCadenas = 0;
+        filaPorCodigo.clear();
+        filaPorDNI.clear();
+        referenciaPorCarrera.clear();
+        escribirCabecera();
+    }
+    
+    @Override
+    public String obtenerFuenteDatos() {
+        return "Archivo mapeado en memoria (fuera del heap)";
+    }
+    
+    @Override
+    public boolean seguroParaHilos() {
+        // Todas las operaciones son synchronized
+        return true;
+    }
+    
+    /**
+     * Obtiene las estadísticas en una sola pasada leyendo estado y promedio
+     * directamente de los registros, sin construir ningún Alumno
+     */
+    @Override
+    public synchronized EstadisticasDTO obtenerEstadisticas() {
+        int[] porEstado = new int[ESTADOS.length];
+        int enRiesgo = 0;
+        double sumaPromedios = 0.0;
+        for (int fila = 0; fila < filas; fila++) {
+            byte estado = estado(fila);
+            porEstado[estado]++;
+            if (estado == ACTIVO) {
+                double promedio = promedio(fila);
+                sumaPromedios += promedio;
+                if (promedio < LIMITE_RIESGO) {
+                    enRiesgo++;
+                }
+            }
+        }
+        
+        int activos = porEstado[ACTIVO];
+        double promedioGeneral = activos > 0 ? sumaPromedios / activos : 0.0;
+        return new EstadisticasDTO(filas, activos,
+                                  porEstado[EstadoAlumno.INACTIVO.ordinal()],
+                                  porEstado[EstadoAlumno.EGRESADO.ordinal()],
+                                  enRiesgo, promedioGeneral);
+    }
+    
+    /**
+     * Reescribe alumnos.cad solo con los textos en uso: los corre hacia el
+     * principio, en el orden en que están, y actualiza las referencias de los
+     * registros. Cada texto se copia antes de actualizar quien lo usa, así una
+     * caída a mitad de camino no deja referencias a textos pisados (salvo una
+     * carrera compartida a medio actualizar). El archivo no se achica: los
+     * textos nuevos se agregan a continuación de los que quedaron
+     */
+    public synchronized void compactar() {
+        // Referencia -> posiciones de alumnos.reg que la usan, en orden de
+        // posición en alumnos.cad (los 32 bits altos de la referencia)
+        TreeMap<Long, List<Integer>> usos = new TreeMap<>();
+        for (int fila = 0; fila < filas; fila++) {
+            for (int campo : REFERENCIAS_PROPIAS) {
+                registrarUso(usos, posicion(fila) + campo);
+            }
+            registrarUso(usos, posicion(fila) + REF_CARRERA);
+        }
+        
+        Map<Long, Long> nuevas = new HashMap<>();
+        int destino = 0;
+        for (Map.Entry<Long, List<Integer>> uso : usos.entrySet()) {
+            long anterior = uso.getKey();
+            int longitud = (int) anterior;
+            int origen = (int) (anterior >>> 32);
+            if (origen != destino) {
+                byte[] bytes = new byte[longitud];
+                cadenas.position(origen);
+                cadenas.get(bytes);
+                cadenas.position(destino);
+                cadenas.put(bytes);
+            }
+            long nueva = referencia(destino, longitud);
+            for (int desplazamiento : uso.getValue()) {
+                registros.putLong(desplazamiento, nueva);
+            }
+            nuevas.put(anterior, nueva);
+            destino += longitud;
+        }
+        
+        // Solo quedan las carreras que usa algún alumno
+        referenciaPorCarrera.values().removeIf(r -> !nuevas.containsKey(r));
+        referenciaPorCarrera.replaceAll((carrera, r) -> nuevas.get(r));
+        bytesCadenas = destino;
+        bytesBasura = 0;
+        registros.putInt(CAB_BYTES_CADENAS, bytesCadenas);
+    }
+    
+    /**
+     * Fuerza a disco los cambios pendientes de ambos archivos
+     */
+    public synchronized void sincronizar() {
+        registros.force();
+        cadenas.force();
+    }
+    
+    // ==================== REGISTROS ====================
+    
+    // Reconstruye los índices del heap a partir de los archivos existentes y
+    // calcula cuánto de alumnos.cad es basura
+    private void cargarExistentes() {
+        filas = registros.getInt(CAB_FILAS);
+        bytesCadenas = registros.getInt(CAB_BYTES_CADENAS);
+        long bytesEnUso = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            filaPorCodigo.put(leerTexto(fila, REF_CODIGO), fila);
+            filaPorDNI.put(leerTexto(fila, REF_DNI), fila);
+            long referencia = registros.getLong(posicion(fila) + REF_CARRERA);
+            if (referenciaPorCarrera.putIfAbsent(leerCadena(referencia), referencia) == null) {
+                bytesEnUso += Math.max(0, (int) referencia);
+            }
+            bytesEnUso += bytesPropios(fila);
+        }
+        bytesBasura = bytesCadenas - bytesEnUso;
+    }
+    
+    // Compacta alumnos.cad si la basura es más de la mitad (y no es poca)
+    private void compactarSiConviene() {
+        if (bytesBasura >= BYTES_CADENAS_INICIALES && bytesBasura * 2 > bytesCadenas) {
+            compactar();
+        }
+    }
+    
+    // Bytes de los textos propios de una fila (sin la carrera, compartida)
+    private long bytesPropios(int fila) {
+        long bytes = 0;
+        for (int campo : REFERENCIAS_PROPIAS) {
+            bytes += Math.max(0, (int) registros.getLong(posicion(fila) + campo));
+        }
+        return bytes;
+    }
+    
+    private void registrarUso(TreeMap<Long, List<Integer>> usos, int desplazamiento) {
+        long referencia = registros.getLong(desplazamiento);
+        if ((int) referencia >= 0) {
+            usos.computeIfAbsent(referencia, r -> new ArrayList<>()).add(desplazamiento);
+        }
+    }
+    
+    private void escribirCabecera() {
+        registros.putInt(CAB_MAGIA, MAGIA);
+        registros.putInt(CAB_VERSION, VERSION);
+        registros.putInt(CAB_FILAS, filas);
+        registros.putInt(CAB_BYTES_CADENAS, bytesCadenas);
+    }
+    
+    // Escribe todos los campos de un registro. Si existente es true, los textos
+    // que no cambiaron conservan su referencia en lugar de duplicarse
+    private void escribirRegistro(int fila, Alumno alumno, boolean existente) throws IOException {
+        int base = posicion(fila);
+        escribirTexto(base + REF_CODIGO, alumno.getCodigoAlumno(), existente);
+        escribirTexto(base + REF_NOMBRE, alumno.getNombre(), existente);
+        escribirTexto(base + REF_APELLIDO, alumno.getApellido(), existente);
+        escribirTexto(base + REF_DNI, alumno.getDni(), existente);
+        escribirTexto(base + REF_DIRECCION, alumno.getDireccion(), existente);
+        escribirTexto(base + REF_TELEFONO, alumno.getTelefono(), existente);
+        escribirTexto(base + REF_EMAIL, alumno.getEmail(), existente);
+        registros.putLong(base + REF_CARRERA, referenciaCarrera(alumno.getCarrera()));
+        registros.putInt(base + CICLO, alumno.getCiclo());
+        registros.putInt(base + CREDITOS, alumno.getCreditosAcumulados());
+        registros.putInt(base + FECHA_NACIMIENTO, FechaCompacta.codificar(alumno.getFechaNacimiento()));
+        registros.putInt(base + FECHA_INGRESO, FechaCompacta.codificar(alumno.getFechaIngreso()));
+        registros.putDouble(base + PROMEDIO, alumno.getPromedio());
+        registros.put(base + ESTADO, (byte) alumno.getEstadoAlumno().ordinal());
+    }
+    
+    private void copiarRegistro(int origen, int destino) {
+        int desde = posicion(origen);
+        int hasta = posicion(destino);
+        for (int i = 0; i < TAMANIO_REGISTRO; i += Long.BYTES) {
+            registros.putLong(hasta + i, registros.getLong(desde + i));
+        }
+    }
+    
+    // Construye el Alumno de una fila
+    private Alumno materializar(int fila) {
+        int base = posicion(fila);
+        return new Alumno(
+            leerTexto(fila, REF_NOMBRE), leerTexto(fila, REF_APELLIDO), leerTexto(fila, REF_DNI),
+            FechaCompacta.decodificar(registros.getInt(base + FECHA_NACIMIENTO)),
+            leerTexto(fila, REF_DIRECCION), leerTexto(fila, REF_TELEFONO), leerTexto(fila, REF_EMAIL),
+            leerTexto(fila, REF_CODIGO), leerTexto(fila, REF_CARRERA),
+            registros.getInt(base + CICLO), registros.getDouble(base + PROMEDIO),
+            ESTADOS[registros.get(base + ESTADO)].getNombre(),
+            FechaCompacta.decodificar(registros.getInt(base + FECHA_INGRESO)),
+            registros.getInt(base + CREDITOS)
+        );
+    }
+    
+    private byte estado(int fila) {
+        return registros.get(posicion(fila) + ESTADO);
+    }
+    
+    private double promedio(int fila) {
+        return registros.getDouble(posicion(fila) + PROMEDIO);
+    }
+    
+    private static int posicion(int fila) {
+        return TAMANIO_CABECERA + fila * TAMANIO_REGISTRO;
+    }
+    
+    private void asegurarCapacidadRegistros(int filasNecesarias) throws IOException {
+        long necesario = posicion(filasNecesarias);
+        if (necesario > registros.capacity()) {
+            registros = mapear(canalRegistros, Math.max(necesario, 2L * registros.capacity()));
+        }
+    }
+    
+    // ==================== MONTÍCULO DE TEXTOS ====================
+    
+    private String leerTexto(int fila, int campo) {
+        return leerCadena(registros.getLong(posicion(fila) + campo));
+    }
+    
+    private void escribirTexto(int desplazamiento, String texto, boolean existente) throws IOException {
+        long anterior = registros.getLong(desplazamiento);
+        if (existente && Objects.equals(leerCadena(anterior), texto)) {
+            return;
+        }
+        registros.putLong(desplazamiento, agregarCadena(texto));
+        if (existente) {
+            bytesBasura += Math.max(0, (int) anterior);
+        }
+    }
+    
+    private long referenciaCarrera(String carrera) throws IOException {
+        Long referencia = referenciaPorCarrera.get(carrera);
+        if (referencia == null) {
+            referencia = agregarCadena(carrera);
+            referenciaPorCarrera.put(carrera, referencia);
+        }
+        return referencia;
+    }
+    
+    // Agrega el texto al final de alumnos.cad y devuelve su referencia
+    private long agregarCadena(String texto) throws IOException {
+        if (texto == null) {
+            return referencia(0, -1);
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        long necesario = (long) bytesCadenas + bytes.length;
+        if (necesario > Integer.MAX_VALUE) {
+            throw new IOException("El archivo de textos superó los 2 GB");
+        }
+        if (necesario > cadenas.capacity()) {
+            cadenas = mapear(canalCadenas, Math.min(Integer.MAX_VALUE, Math.max(necesario, 2L * cadenas.capacity())));
+        }
+        
+        int posicion = bytesCadenas;
+        cadenas.position(posicion);
+        cadenas.put(bytes);
+        bytesCadenas += bytes.length;
+        registros.putInt(CAB_BYTES_CADENAS, bytesCadenas);
+        return referencia(posicion, bytes.length);
+    }
+    
+    private String leerCadena(long referencia) {
+        int longitud = (int) referencia;
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        cadenas.position((int) (referencia >>> 32));
+        cadenas.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static long referencia(int posicion, int longitud) {
+        return ((long) posicion << 32) | (longitud & 0xFFFFFFFFL);
+    }
+    
+    // ==================== UTILIDADES ====================
+    
+    private static FileChannel abrir(Path archivo) throws IOException {
+        return FileChannel.open(archivo, StandardOpenOption.CREATE,
+                                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+    
+    // Mapea (y si hace falta agranda) el archivo completo
+    private static MappedByteBuffer mapear(FileChannel canal, long tamanio) throws IOException {
+        if (tamanio > Integer.MAX_VALUE) {
+            throw new IOException("El archivo mapeado superó los 2 GB");
+        }
+        return canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanio);
+    }
+    
+    // Ordinal del estado buscado, o -2 (no coincide con ningún registro) si no es válido
+    private static int codigoEstado(String estado) {
+        EstadoAlumno buscado = EstadoAlumno.desdeNombre(estado);
+        return buscado != null ? buscado.ordinal() : -2;
+    }
+    
+    private static Comparator<Alumno> ordenAlfabetico() {
+        return Comparator.comparing(Alumno::getApellido)
+                         .thenComparing(Alumno::getNombre)
+                         .thenComparing(Alumno::getCodigoAlumno);
+    }
+}
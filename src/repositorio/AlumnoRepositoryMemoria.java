@@ -1,9 +1,15 @@
 package src.repositorio;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.Comparator;
 import src.modelo.*;;
 
@@ -13,12 +19,47 @@ import src.modelo.*;;
  */
 public class AlumnoRepositoryMemoria implements IAlumnoRepository {
     
-    private List<Alumno> alumnos;
+    // Índice primario (codigoAlumno) e índice único (DNI)
+    private Map<String, Entrada> indicePorCodigo;
+    private Map<String, Entrada> indicePorDNI;
+    
+    // Índices secundarios, cada grupo ordenado por (apellido, nombre)
+    private Map<String, NavigableSet<Entrada>> indicePorCarrera;
+    private Map<String, NavigableSet<Entrada>> indicePorEstado;
+    private Map<Integer, NavigableSet<Entrada>> indicePorCiclo;
+    
+    // Índice por estado ordenado por promedio (rangos, riesgo y mejores promedios)
+    private Map<String, NavigableSet<Entrada>> indicePromedioPorEstado;
+    
+    // Todos los alumnos por (apellido, nombre, código) para la paginación
+    private NavigableSet<Entrada> indiceAlfabetico;
+    
+    // Índice de trigramas sobre "nombre apellido" para búsquedas por subcadena
+    private IndiceTrigramas indicePorNombre;
+    
+    // Contadores para estadísticas, actualizados en cada escritura
+    private int alumnosEnRiesgo;
+    private int alumnosActivos;
+    private double sumaPromediosActivos;
+    
+    // Versión publicada de todos los alumnos en orden de inserción. Cada escritura
+    // publica una versión nueva; quien ya tiene una referencia no ve cambios.
+    // Guarda las copias propias del repositorio: nunca se entregan sin copiar
+    private volatile ListaPersistente<Alumno> instantanea;
+    private long ultimaSecuencia;
     private static AlumnoRepositoryMemoria instancia;
     
     // Constructor privado (Singleton)
     private AlumnoRepositoryMemoria() {
-        this.alumnos = new ArrayList<>();
+        this.indicePorCodigo = new HashMap<>();
+        this.indicePorDNI = new HashMap<>();
+        this.indicePorCarrera = new HashMap<>();
+        this.indicePorEstado = new HashMap<>();
+        this.indicePorCiclo = new HashMap<>();
+        this.indicePromedioPorEstado = new HashMap<>();
+        this.indiceAlfabetico = new TreeSet<>(Entrada.ORDEN_ALFABETICO);
+        this.indicePorNombre = new IndiceTrigramas();
+        this.instantanea = ListaPersistente.vacia();
         cargarDatosIniciales();
     }
     
@@ -32,6 +73,13 @@ public class AlumnoRepositoryMemoria implements IAlumnoRepository {
     
     // Cargar datos de prueba
     private void cargarDatosIniciales() {
+        datosIniciales().forEach(a -> indexar(new Entrada(a, ++ultimaSecuencia)));
+    }
+    
+    // Datos de prueba compartidos con las demás implementaciones en memoria
+    static List<Alumno> datosIniciales() {
+        List<Alumno> alumnos = new ArrayList<>();
+        
         alumnos.add(new Alumno(
             "Juan Carlos", "Pérez García", "12345678", "2000-05-15",
             "Av. Principal 123, Lima", "987654321", "juan.perez@sideral.edu.pe",
@@ -67,6 +115,8 @@ public class AlumnoRepositoryMemoria implements IAlumnoRepository {
             "Jr. Las Flores 147, Lima", "977665544", "lucia.diaz@sideral.edu.pe",
             "2020006", "Psicología", 6, 10.5, "Activo", "2020-03-01", 135
         ));
+        
+        return alumnos;
     }
     
     @Override
@@ -85,7 +135,8 @@ public class AlumnoRepositoryMemoria implements IAlumnoRepository {
             return false;
         }
         
-        return alumnos.add(alumno);
+        indexar(new Entrada(alumno, ++ultimaSecuencia));
+        return true;
     }
     
     @Override
@@ -94,185 +145,373 @@ public class AlumnoRepositoryMemoria implements IAlumnoRepository {
             return false;
         }
         
-        for (int i = 0; i < alumnos.size(); i++) {
-            if (alumnos.get(i).getCodigoAlumno().equals(alumno.getCodigoAlumno())) {
-                // Verificar que el DNI no esté duplicado en otro alumno
-                Alumno alumnoExistente = buscarPorDNI(alumno.getDni()).orElse(null);
-                if (alumnoExistente != null && 
-                    !alumnoExistente.getCodigoAlumno().equals(alumno.getCodigoAlumno())) {
-                    return false;
-                }
-                
-                alumnos.set(i, alumno);
-                return true;
-            }
+        Entrada anterior = indicePorCodigo.get(alumno.getCodigoAlumno());
+        if (anterior == null) {
+            return false;
+        }
+        
+        // Verificar que el DNI no esté duplicado en otro alumno
+        Entrada conMismoDNI = indicePorDNI.get(alumno.getDni());
+        if (conMismoDNI != null && conMismoDNI != anterior) {
+            return false;
         }
-        return false;
+        
+        // Conserva la secuencia: el alumno mantiene su posición en obtenerTodos()
+        desindexar(anterior);
+        indexar(new Entrada(alumno, anterior.secuencia));
+        return true;
     }
     
     @Override
     public boolean eliminar(String codigoAlumno) {
-        return alumnos.removeIf(a -> a.getCodigoAlumno().equals(codigoAlumno));
+        Entrada entrada = indicePorCodigo.remove(codigoAlumno);
+        if (entrada == null) {
+            return false;
+        }
+        desindexar(entrada);
+        instantanea = instantanea.quitar(entrada.secuencia);
+        return true;
     }
     
     @Override
     public Optional<Alumno> buscarPorCodigo(String codigoAlumno) {
-        return alumnos.stream()
-                .filter(a -> a.getCodigoAlumno().equals(codigoAlumno))
-                .findFirst();
+        Entrada entrada = indicePorCodigo.get(codigoAlumno);
+        return entrada != null ? Optional.of(entrada.copia()) : Optional.empty();
     }
     
     @Override
     public List<Alumno> obtenerTodos() {
-        return new ArrayList<>(alumnos);
+        // Instantánea inmutable en O(1): no se copia la colección, cada alumno
+        // se copia recién al leerlo
+        return instantanea.copiando(Alumno::new);
     }
     
     @Override
     public List<Alumno> buscarPorNombre(String termino) {
-        String terminoLower = termino.toLowerCase();
-        return alumnos.stream()
-                .filter(a -> a.getNombre().toLowerCase().contains(terminoLower) ||
-                           a.getApellido().toLowerCase().contains(terminoLower) ||
-                           a.getNombreCompleto().toLowerCase().contains(terminoLower))
-                .sorted(Comparator.comparing(Alumno::getApellido)
-                       .thenComparing(Alumno::getNombre))
-                .collect(Collectors.toList());
+        // "nombre apellido" contiene al término si lo contiene el nombre o el apellido
+        NavigableSet<Entrada> coincidencias = new TreeSet<>(Entrada.ORDEN_ALFABETICO);
+        for (String codigo : indicePorNombre.buscar(termino)) {
+            coincidencias.add(indicePorCodigo.get(codigo));
+        }
+        return aLista(coincidencias);
     }
     
     @Override
     public Optional<Alumno> buscarPorDNI(String dni) {
-        return alumnos.stream()
-                .filter(a -> a.getDni().equals(dni))
-                .findFirst();
+        Entrada entrada = indicePorDNI.get(dni);
+        return entrada != null ? Optional.of(entrada.copia()) : Optional.empty();
     }
     
     @Override
     public List<Alumno> buscarPorCarrera(String carrera) {
-        return alumnos.stream()
-                .filter(a -> a.getCarrera().equalsIgnoreCase(carrera))
-                .sorted(Comparator.comparing(Alumno::getApellido))
-                .collect(Collectors.toList());
+        return aLista(indicePorCarrera.get(normalizar(carrera)));
     }
     
     @Override
     public List<Alumno> buscarPorEstado(String estado) {
-        return alumnos.stream()
-                .filter(a -> a.getEstado().equalsIgnoreCase(estado))
-                .sorted(Comparator.comparing(Alumno::getApellido))
-                .collect(Collectors.toList());
+        return aLista(indicePorEstado.get(normalizar(estado)));
     }
     
     @Override
     public List<Alumno> buscarPorCiclo(int ciclo) {
-        return alumnos.stream()
-                .filter(a -> a.getCiclo() == ciclo)
-                .sorted(Comparator.comparing(Alumno::getApellido))
-                .collect(Collectors.toList());
+        return aLista(indicePorCiclo.get(ciclo));
     }
     
     @Override
     public int contarTotal() {
-        return alumnos.size();
+        return indicePorCodigo.size();
     }
     
     @Override
     public int contarPorEstado(String estado) {
-        return (int) alumnos.stream()
-                .filter(a -> a.getEstado().equalsIgnoreCase(estado))
-                .count();
+        NavigableSet<Entrada> grupo = indicePorEstado.get(normalizar(estado));
+        return grupo != null ? grupo.size() : 0;
     }
     
     @Override
     public List<Alumno> obtenerEnRiesgoAcademico() {
-        return alumnos.stream()
-                .filter(Alumno::enRiesgoAcademico)
-                .sorted(Comparator.comparing(Alumno::getPromedio))
+        NavigableSet<Entrada> activos = indicePromedioPorEstado.get(normalizar("Activo"));
+        if (activos == null) {
+            return new ArrayList<>();
+        }
+        return activos.headSet(Entrada.limitePromedio(11.0), false).stream()
+                .filter(e -> e.activo)
+                .map(Entrada::copia)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Alumno> buscarPorRangoPromedio(String estado, double minimo, double maximo) {
+        NavigableSet<Entrada> grupo = indicePromedioPorEstado.get(normalizar(estado));
+        if (grupo == null || !(minimo < maximo)) {
+            return new ArrayList<>();
+        }
+        return aLista(grupo.subSet(Entrada.limitePromedio(minimo), true,
+                                   Entrada.limitePromedio(maximo), false));
+    }
+    
+    @Override
+    public List<Alumno> buscarPorCriterios(String carrera, String estado,
+                                           int cicloMinimo, double promedioMinimo) {
+        // Parte del grupo más chico entre carrera y estado; con estado y promedio
+        // mínimo, recorre solo la cola del índice de promedios de ese estado
+        Collection<Entrada> candidatos = indicePorCodigo.values();
+        NavigableSet<Entrada> porCarrera = carrera != null ? indicePorCarrera.get(normalizar(carrera)) : null;
+        NavigableSet<Entrada> porEstado = estado != null ? indicePromedioPorEstado.get(normalizar(estado)) : null;
+        
+        if ((carrera != null && porCarrera == null) || (estado != null && porEstado == null)) {
+            return new ArrayList<>();
+        }
+        if (porEstado != null && (porCarrera == null || porEstado.size() <= porCarrera.size())) {
+            candidatos = promedioMinimo > 0
+                    ? porEstado.tailSet(Entrada.limitePromedio(promedioMinimo), true)
+                    : porEstado;
+        } else if (porCarrera != null) {
+            candidatos = porCarrera;
+        }
+        
+        // Una sola pasada con todos los criterios, sobre las claves de cada entrada
+        String carreraBuscada = normalizar(carrera);
+        String estadoBuscado = normalizar(estado);
+        List<Entrada> coincidencias = new ArrayList<>();
+        for (Entrada e : candidatos) {
+            if ((carrera == null || e.carrera.equals(carreraBuscada)) &&
+                (estado == null || e.estado.equals(estadoBuscado)) &&
+                e.ciclo >= cicloMinimo && e.promedio >= promedioMinimo) {
+                coincidencias.add(e);
+            }
+        }
+        coincidencias.sort(Comparator.comparingLong(e -> e.secuencia));
+        return aLista(coincidencias);
+    }
+    
+    @Override
+    public PaginaAlumnos obtenerPagina(String continuacion, int tamanio) {
+        CursorAlumno.validarTamanio(tamanio);
+        CursorAlumno cursor = CursorAlumno.desdeToken(continuacion);
+        
+        // Búsqueda directa de la posición del cursor: O(log n + tamaño)
+        NavigableSet<Entrada> restantes = cursor == null ? indiceAlfabetico
+                : indiceAlfabetico.tailSet(Entrada.limiteAlfabetico(cursor), false);
+        List<Alumno> alumnos = restantes.stream()
+                .limit(tamanio + 1L)
+                .map(Entrada::copia)
                 .collect(Collectors.toList());
+        return CursorAlumno.armarPagina(alumnos, tamanio);
     }
     
     @Override
     public boolean existe(String codigoAlumno) {
-        return alumnos.stream()
-                .anyMatch(a -> a.getCodigoAlumno().equals(codigoAlumno));
+        return indicePorCodigo.containsKey(codigoAlumno);
     }
     
     @Override
     public boolean existePorDNI(String dni) {
-        return alumnos.stream()
-                .anyMatch(a -> a.getDni().equals(dni));
+        return indicePorDNI.containsKey(dni);
     }
     
     @Override
     public void limpiar() {
-        alumnos.clear();
+        indicePorCodigo.clear();
+        indicePorDNI.clear();
+        indicePorCarrera.clear();
+        indicePorEstado.clear();
+        indicePorCiclo.clear();
+        indicePromedioPorEstado.clear();
+        indiceAlfabetico.clear();
+        indicePorNombre.limpiar();
+        instantanea = ListaPersistente.vacia();
+        alumnosEnRiesgo = 0;
+        alumnosActivos = 0;
+        sumaPromediosActivos = 0.0;
     }
     
     @Override
     public String obtenerFuenteDatos() {
-        return "Memoria (ArrayList)";
+        return "Memoria (HashMap indexado)";
+    }
+    
+    // ==================== MANTENIMIENTO DE ÍNDICES ====================
+    
+    // Recorre los alumnos en orden de inserción
+    private Stream<Alumno> alumnos() {
+        return instantanea.stream();
+    }
+    
+    // Registra la entrada en todos los índices (reemplaza la anterior con el mismo código)
+    private void indexar(Entrada entrada) {
+        indicePorCodigo.put(entrada.codigoAlumno, entrada);
+        indicePorDNI.put(entrada.dni, entrada);
+        agregarAGrupo(indicePorCarrera, entrada.carrera, entrada);
+        agregarAGrupo(indicePorEstado, entrada.estado, entrada);
+        agregarAGrupo(indicePorCiclo, entrada.ciclo, entrada);
+        indicePromedioPorEstado.computeIfAbsent(entrada.estado, k -> new TreeSet<>(Entrada.ORDEN_PROMEDIO))
+                               .add(entrada);
+        indiceAlfabetico.add(entrada);
+        indicePorNombre.agregar(entrada.codigoAlumno, entrada.nombre + " " + entrada.apellido);
+        acumularEstadisticas(entrada, 1);
+        instantanea = instantanea.insertar(entrada.secuencia, entrada.alumno);
+    }
+    
+    // Retira la entrada de los índices secundarios
+    private void desindexar(Entrada entrada) {
+        indicePorDNI.remove(entrada.dni, entrada);
+        quitarDeGrupo(indicePorCarrera, entrada.carrera, entrada);
+        quitarDeGrupo(indicePorEstado, entrada.estado, entrada);
+        quitarDeGrupo(indicePorCiclo, entrada.ciclo, entrada);
+        quitarDeGrupo(indicePromedioPorEstado, entrada.estado, entrada);
+        indiceAlfabetico.remove(entrada);
+        indicePorNombre.quitar(entrada.codigoAlumno);
+        acumularEstadisticas(entrada, -1);
+    }
+    
+    // Suma (signo = 1) o resta (signo = -1) la entrada de los contadores
+    private void acumularEstadisticas(Entrada entrada, int signo) {
+        if (!entrada.activo) {
+            return;
+        }
+        alumnosActivos += signo;
+        sumaPromediosActivos += signo * entrada.promedio;
+        if (entrada.promedio < 11.0) {
+            alumnosEnRiesgo += signo;
+        }
+        if (alumnosActivos == 0) {
+            sumaPromediosActivos = 0.0; // descartar el error de redondeo acumulado
+        }
+    }
+    
+    private static <K> void agregarAGrupo(Map<K, NavigableSet<Entrada>> indice, K clave, Entrada entrada) {
+        indice.computeIfAbsent(clave, k -> new TreeSet<>(Entrada.ORDEN_ALFABETICO)).add(entrada);
+    }
+    
+    private static <K> void quitarDeGrupo(Map<K, NavigableSet<Entrada>> indice, K clave, Entrada entrada) {
+        NavigableSet<Entrada> grupo = indice.get(clave);
+        if (grupo != null && grupo.remove(entrada) && grupo.isEmpty()) {
+            indice.remove(clave);
+        }
+    }
+    
+    // Materializa un grupo del índice (ya ordenado) como lista de copias de los alumnos
+    private static List<Alumno> aLista(Collection<Entrada> grupo) {
+        if (grupo == null) {
+            return new ArrayList<>();
+        }
+        List<Alumno> resultado = new ArrayList<>(grupo.size());
+        for (Entrada entrada : grupo) {
+            resultado.add(entrada.copia());
+        }
+        return resultado;
+    }
+    
+    // Clave de búsqueda sin distinción de mayúsculas
+    private static String normalizar(String valor) {
+        return valor != null ? valor.toLowerCase() : "";
     }
     
     // Métodos adicionales útiles
     
     /**
      * Obtiene alumnos ordenados por promedio descendente
+     * Recorre el índice de promedios desde el final: O(log n + limite)
      */
+    @Override
     public List<Alumno> obtenerMejoresPromedios(int limite) {
-        return alumnos.stream()
-                .filter(a -> a.getEstado().equals("Activo"))
-                .sorted(Comparator.comparing(Alumno::getPromedio).reversed())
+        NavigableSet<Entrada> activos = indicePromedioPorEstado.get(normalizar("Activo"));
+        if (activos == null) {
+            return new ArrayList<>();
+        }
+        return activos.descendingSet().stream()
+                .filter(e -> e.activo)
                 .limit(limite)
+                .map(Entrada::copia)
                 .collect(Collectors.toList());
     }
     
     /**
-     * Obtiene estadísticas generales
+     * Obtiene estadísticas generales en tiempo constante a partir de los
+     * tamaños de los índices y de los contadores mantenidos en cada escritura
      */
-    public EstadisticasAlumnos obtenerEstadisticas() {
-        int total = contarTotal();
-        int activos = contarPorEstado("Activo");
-        int enRiesgo = obtenerEnRiesgoAcademico().size();
-        
-        double promedioGeneral = alumnos.stream()
-                .filter(a -> a.getEstado().equals("Activo"))
-                .mapToDouble(Alumno::getPromedio)
-                .average()
-                .orElse(0.0);
+    @Override
+    public EstadisticasDTO obtenerEstadisticas() {
+        double promedioGeneral = alumnosActivos > 0 ? sumaPromediosActivos / alumnosActivos : 0.0;
         
-        return new EstadisticasAlumnos(total, activos, enRiesgo, promedioGeneral);
+        return new EstadisticasDTO(contarTotal(), contarPorEstado("Activo"),
+                                  contarPorEstado("Inactivo"), contarPorEstado("Egresado"),
+                                  alumnosEnRiesgo, promedioGeneral);
     }
     
     /**
-     * Clase interna para estadísticas
+     * Entrada de los índices. Guarda una copia propia del alumno, de modo que ni
+     * quien lo guardó ni quien lo lee (las consultas devuelven otras copias)
+     * puede modificarlo sin pasar por actualizar(): así los índices, los
+     * contadores y las instantáneas ya entregadas no cambian por detrás. La
+     * secuencia es la clave del alumno en la instantánea de obtenerTodos().
      */
-    public static class EstadisticasAlumnos {
-        private int total;
-        private int activos;
-        private int enRiesgo;
-        private double promedioGeneral;
+    private static final class Entrada {
+        private static final Comparator<Entrada> ORDEN_ALFABETICO =
+                Comparator.comparing((Entrada e) -> e.apellido)
+                          .thenComparing(e -> e.nombre)
+                          .thenComparing(e -> e.codigoAlumno);
+        
+        private static final Comparator<Entrada> ORDEN_PROMEDIO =
+                Comparator.comparingDouble((Entrada e) -> e.promedio)
+                          .thenComparing(e -> e.codigoAlumno);
         
-        public EstadisticasAlumnos(int total, int activos, int enRiesgo, double promedioGeneral) {
-            this.total = total;
-            this.activos = activos;
-            this.enRiesgo = enRiesgo;
-            this.promedioGeneral = promedioGeneral;
+        private final Alumno alumno;
+        private final long secuencia;
+        private final String codigoAlumno;
+        private final String dni;
+        private final String apellido;
+        private final String nombre;
+        private final String carrera;
+        private final String estado;
+        private final int ciclo;
+        private final double promedio;
+        private final boolean activo;
+        
+        Entrada(Alumno alumno, long secuencia) {
+            this.alumno = new Alumno(alumno);
+            this.secuencia = secuencia;
+            this.codigoAlumno = alumno.getCodigoAlumno();
+            this.dni = alumno.getDni();
+            this.apellido = alumno.getApellido();
+            this.nombre = alumno.getNombre();
+            this.carrera = normalizar(alumno.getCarrera());
+            this.estado = normalizar(alumno.getEstado());
+            this.ciclo = alumno.getCiclo();
+            this.promedio = alumno.getPromedio();
+            this.activo = alumno.getEstadoAlumno() == EstadoAlumno.ACTIVO;
         }
         
-        public int getTotal() { return total; }
-        public int getActivos() { return activos; }
-        public int getEnRiesgo() { return enRiesgo; }
-        public double getPromedioGeneral() { return promedioGeneral; }
+        // Copia para entregar fuera del repositorio
+        Alumno copia() {
+            return new Alumno(alumno);
+        }
+        
+        // Entrada ficticia para acotar rangos de los índices ordenados
+        private Entrada(String apellido, String nombre, String codigoAlumno, double promedio) {
+            this.alumno = null;
+            this.secuencia = 0;
+            this.codigoAlumno = codigoAlumno;
+            this.dni = null;
+            this.apellido = apellido;
+            this.nombre = nombre;
+            this.carrera = null;
+            this.estado = null;
+            this.ciclo = 0;
+            this.promedio = promedio;
+            this.activo = false;
+        }
+        
+        // Límite del índice de promedios. Su código vacío la ubica antes de
+        // cualquier alumno real con el mismo promedio
+        static Entrada limitePromedio(double promedio) {
+            return new Entrada(null, null, "", promedio);
+        }
         
-        @Override
-        public String toString() {
-            return String.format(
-                "Estadísticas:\n" +
-                "- Total de alumnos: %d\n" +
-                "- Alumnos activos: %d\n" +
-                "- Alumnos en riesgo: %d\n" +
-                "- Promedio general: %.2f",
-                total, activos, enRiesgo, promedioGeneral
-            );
+        // Posición de un cursor de paginación en el índice alfabético
+        static Entrada limiteAlfabetico(CursorAlumno cursor) {
+            return new Entrada(cursor.apellido, cursor.nombre, cursor.codigoAlumno, 0.0);
         }
     }
-}
\ No newline at end of file
+}
@@ -2,8 +2,16 @@ package src.repositorio;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import src.modelo.*;
 /**
  * Implementación del repositorio usando MySQL
@@ -21,18 +29,108 @@ import src.modelo.*;
 public class AlumnoRepositoryMySQL implements IAlumnoRepository {
     
     // Configuración de conexión
-    private static final String URL = "jdbc:mysql://localhost:3306/sideral_carreon";
+    // rewriteBatchedStatements: Connector/J envía los lotes de INSERT como
+    // un único INSERT de varias filas
+    // useServerPrepStmts: las sentencias se preparan en el servidor, que
+    // conserva el plan mientras el caché del pool mantenga la sentencia abierta
+    // useCursorFetch: con setFetchSize(n) las filas se piden de a n con un cursor
+    // del servidor (solo recorrerTodos lo usa; el resto lee el resultado completo)
+    private static final String URL = "jdbc:mysql://localhost:3306/sideral_carreon" +
+                                      "?rewriteBatchedStatements=true&useServerPrepStmts=true" +
+                                      "&useCursorFetch=true";
     private static final String USER = "root";
     private static final String PASSWORD = "tu_password";
     
+    // Conexiones simultáneas como máximo (ver PoolConexiones)
+    private static final int TAMANIO_POOL = 10;
+    
+    // Por encima de esta cantidad de candidatos se usa la consulta LIKE
+    private static final int MAXIMO_CANDIDATOS_INDICE = 1000;
+    
+    // Antigüedad máxima del índice de nombres antes de recargarlo desde la tabla
+    private static final long VIGENCIA_INDICE_NOMBRES_MS = 5 * 60_000;
+    
+    // Columnas de AlumnoResumen (listados y resultados de búsqueda)
+    private static final String COLUMNAS_RESUMEN =
+            "codigo_alumno, nombre, apellido, dni, carrera, ciclo, promedio, estado";
+    
+    // Agregación condicional con las columnas de alumnos_estadisticas, en el mismo orden
+    private static final String COLUMNAS_ESTADISTICAS =
+            "COUNT(*), " +
+            "COALESCE(SUM(estado = 'Activo'), 0), " +
+            "COALESCE(SUM(estado = 'Inactivo'), 0), " +
+            "COALESCE(SUM(estado = 'Egresado'), 0), " +
+            "COALESCE(SUM(estado = 'Activo' AND promedio < 11.0), 0), " +
+            "COALESCE(SUM(IF(estado = 'Activo', promedio, 0)), 0)";
+    
+    // Filas por viaje al servidor y capacidad del buffer en recorrerTodos
+    private static final int FILAS_POR_LECTURA = 1000;
+    
+    // Código de error de MySQL para una clave única duplicada
+    private static final int ERROR_CLAVE_DUPLICADA = 1062;
+    
+    // Filas por lote y por transacción en guardarLote/actualizarLote
+    private static final int FILAS_POR_LOTE = 500;
+    
+    private static final String SQL_INSERTAR =
+            "INSERT INTO alumnos (codigo_alumno, nombre, apellido, dni, " +
+            "fecha_nacimiento, direccion, telefono, email, carrera, ciclo, " +
+            "promedio, estado, fecha_ingreso, creditos_acumulados) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String SQL_ACTUALIZAR =
+            "UPDATE alumnos SET nombre = ?, apellido = ?, dni = ?, " +
+            "fecha_nacimiento = ?, direccion = ?, telefono = ?, email = ?, " +
+            "carrera = ?, ciclo = ?, promedio = ?, estado = ?, " +
+            "fecha_ingreso = ?, creditos_acumulados = ? " +
+            "WHERE codigo_alumno = ?";
+    
+    // Consultas que dependen de los índices compuestos; VerificacionIndicesMySQL
+    // revisa su plan con EXPLAIN
+    
+    // idx_carrera_orden resuelve el filtro y el orden
+    static final String SQL_POR_CARRERA =
+            "SELECT * FROM alumnos WHERE carrera = ? ORDER BY apellido, nombre";
+    
+    static final String SQL_POR_ESTADO =
+            "SELECT * FROM alumnos WHERE estado = ? ORDER BY apellido, nombre";
+    
+    // Conteo sobre el prefijo de idx_estado_promedio, sin leer las filas
+    static final String SQL_CONTAR_POR_ESTADO =
+            "SELECT COUNT(*) as total FROM alumnos WHERE estado = ?";
+    
+    static final String SQL_EN_RIESGO =
+            "SELECT * FROM alumnos WHERE promedio < 11.0 AND estado = 'Activo' ORDER BY promedio ASC";
+    
+    // Recorre idx_estado_promedio en orden inverso y se detiene en el límite
+    static final String SQL_MEJORES_PROMEDIOS =
+            "SELECT * FROM alumnos WHERE estado = 'Activo' ORDER BY promedio DESC LIMIT ?";
+    
     // Instancia única (Singleton)
     private static AlumnoRepositoryMySQL instancia;
     
+    // Las operaciones piden y devuelven conexiones del pool en lugar de abrir
+    // una conexión nueva (TCP + autenticación) cada vez
+    private final PoolConexiones pool = new PoolConexiones(URL, USER, PASSWORD, TAMANIO_POOL);
+    
+    // Índice auxiliar de trigramas para buscarPorNombre. Se carga en la primera
+    // búsqueda y se mantiene con las escrituras hechas por este repositorio. Los
+    // cambios de otras aplicaciones aparecen al recargarlo, cada
+    // VIGENCIA_INDICE_NOMBRES_MS o con recargarIndiceNombres().
+    // Protegidos por candadoIndice: el índice vigente (null si no hay), cuándo se
+    // cargó, y los cambios hechos mientras se carga uno nuevo (null si no se carga)
+    private final Object candadoIndice = new Object();
+    private IndiceTrigramas indiceNombres;
+    private long indiceNombresCargadoEn;
+    private long versionIndiceNombres;
+    private List<String[]> cambiosDuranteCarga;
+    
     private AlumnoRepositoryMySQL() {
         // Verificar conexión al inicializar
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
             verificarConexion();
+            migrarEsquema();
         } catch (ClassNotFoundException e) {
             System.err.println("Error: Driver MySQL no encontrado");
             System.err.println("Agregue mysql-connector-java al classpath");
@@ -46,9 +144,33 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
         return instancia;
     }
     
-    // Método para obtener conexión
-    private Connection getConexion() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+    // Método para obtener conexión; close() la devuelve al pool
+    Connection getConexion() throws SQLException {
+        return pool.obtener();
+    }
+    
+    // Prepara una consulta cuyo texto depende de los datos (listas IN de largo
+    // variable, filtros opcionales). La variante de tres argumentos no pasa por
+    // el caché de sentencias del pool: cada forma ocuparía una entrada y
+    // desalojaría a las consultas fijas que sí se repiten. Las de texto fijo,
+    // o de entre unas pocas variantes (sqlPagina, sqlRangoPromedio), usan
+    // prepareStatement(sql) y se reutilizan
+    private static PreparedStatement prepararSinCache(Connection conn, String sql) throws SQLException {
+        return conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+    
+    /**
+     * Métricas del pool: conexiones activas e inactivas, espera y tiempos agotados
+     */
+    public MetricasPool obtenerMetricasPool() {
+        return pool.metricas();
+    }
+    
+    /**
+     * Cierra las conexiones del pool (al detener la aplicación)
+     */
+    public void cerrarPool() {
+        pool.cerrar();
     }
     
     // Verificar que la conexión funcione
@@ -61,42 +183,62 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
         }
     }
     
+    // Aplicar las migraciones de esquema pendientes (ver MigracionesMySQL)
+    private void migrarEsquema() {
+        try (Connection conn = getConexion()) {
+            MigracionesMySQL.aplicar(conn);
+        } catch (SQLException e) {
+            System.err.println("✗ Error al migrar el esquema: " + e.getMessage());
+        }
+    }
+    
     @Override
     public boolean guardar(Alumno alumno) {
+        return registrar(alumno) == ResultadoRegistro.REGISTRADO;
+    }
+    
+    // Un único INSERT: los duplicados los detectan los índices únicos, también
+    // entre registros concurrentes, sin consultar antes
+    @Override
+    public ResultadoRegistro registrar(Alumno alumno) {
         if (alumno == null || !alumno.validarDatos()) {
-            return false;
+            return ResultadoRegistro.RECHAZADO;
         }
         
-        String sql = "INSERT INTO alumnos (codigo_alumno, nombre, apellido, dni, " +
-                    "fecha_nacimiento, direccion, telefono, email, carrera, ciclo, " +
-                    "promedio, estado, fecha_ingreso, creditos_acumulados) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = getConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, alumno.getCodigoAlumno());
-            stmt.setString(2, alumno.getNombre());
-            stmt.setString(3, alumno.getApellido());
-            stmt.setString(4, alumno.getDni());
-            stmt.setString(5, alumno.getFechaNacimiento());
-            stmt.setString(6, alumno.getDireccion());
-            stmt.setString(7, alumno.getTelefono());
-            stmt.setString(8, alumno.getEmail());
-            stmt.setString(9, alumno.getCarrera());
-            stmt.setInt(10, alumno.getCiclo());
-            stmt.setDouble(11, alumno.getPromedio());
-            stmt.setString(12, alumno.getEstado());
-            stmt.setString(13, alumno.getFechaIngreso());
-            stmt.setInt(14, alumno.getCreditosAcumulados());
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR)) {
             
-            int filasAfectadas = stmt.executeUpdate();
-            return filasAfectadas > 0;
+            asignarInsercion(stmt, alumno);
             
+            if (stmt.executeUpdate() == 0) {
+                return ResultadoRegistro.RECHAZADO;
+            }
+            indexarNombre(alumno);
+            return ResultadoRegistro.REGISTRADO;
+        
         } catch (SQLException e) {
+            ResultadoRegistro duplicado = clasificarDuplicado(e);
+            if (duplicado != null) {
+                return duplicado;
+            }
             System.err.println("Error al guardar alumno: " + e.getMessage());
-            return false;
+            return ResultadoRegistro.RECHAZADO;
+        }
+    }
+    
+    // Error 1062 (ER_DUP_ENTRY): "Duplicate entry '...' for key 'alumnos.uq_dni'".
+    // Devuelve null si el error no es una clave duplicada conocida
+    private static ResultadoRegistro clasificarDuplicado(SQLException e) {
+        if (e.getErrorCode() != ERROR_CLAVE_DUPLICADA || e.getMessage() == null) {
+            return null;
         }
+        if (e.getMessage().contains(MigracionesMySQL.UNICO_DNI + "'")) {
+            return ResultadoRegistro.DNI_DUPLICADO;
+        }
+        if (e.getMessage().contains(MigracionesMySQL.UNICO_CODIGO + "'")) {
+            return ResultadoRegistro.CODIGO_DUPLICADO;
+        }
+        return null;
     }
     
     @Override
@@ -105,39 +247,33 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             return false;
         }
         
-        String sql = "UPDATE alumnos SET nombre = ?, apellido = ?, dni = ?, " +
-                    "fecha_nacimiento = ?, direccion = ?, telefono = ?, email = ?, " +
-                    "carrera = ?, ciclo = ?, promedio = ?, estado = ?, " +
-                    "fecha_ingreso = ?, creditos_acumulados = ? " +
-                    "WHERE codigo_alumno = ?";
-        
         try (Connection conn = getConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_ACTUALIZAR)) {
             
-            stmt.setString(1, alumno.getNombre());
-            stmt.setString(2, alumno.getApellido());
-            stmt.setString(3, alumno.getDni());
-            stmt.setString(4, alumno.getFechaNacimiento());
-            stmt.setString(5, alumno.getDireccion());
-            stmt.setString(6, alumno.getTelefono());
-            stmt.setString(7, alumno.getEmail());
-            stmt.setString(8, alumno.getCarrera());
-            stmt.setInt(9, alumno.getCiclo());
-            stmt.setDouble(10, alumno.getPromedio());
-            stmt.setString(11, alumno.getEstado());
-            stmt.setString(12, alumno.getFechaIngreso());
-            stmt.setInt(13, alumno.getCreditosAcumulados());
-            stmt.setString(14, alumno.getCodigoAlumno());
+            asignarActualizacion(stmt, alumno);
             
             int filasAfectadas = stmt.executeUpdate();
+            if (filasAfectadas > 0) {
+                indexarNombre(alumno);
+            }
             return filasAfectadas > 0;
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al actualizar alumno: " + e.getMessage());
             return false;
         }
     }
     
+    @Override
+    public List<Boolean> guardarLote(List<Alumno> alumnos) {
+        return ejecutarLote(alumnos, SQL_INSERTAR, true);
+    }
+    
+    @Override
+    public List<Boolean> actualizarLote(List<Alumno> alumnos) {
+        return ejecutarLote(alumnos, SQL_ACTUALIZAR, false);
+    }
+    
     @Override
     public boolean eliminar(String codigoAlumno) {
         String sql = "DELETE FROM alumnos WHERE codigo_alumno = ?";
@@ -147,8 +283,11 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             
             stmt.setString(1, codigoAlumno);
             int filasAfectadas = stmt.executeUpdate();
+            if (filasAfectadas > 0) {
+                cambiarIndiceNombres(codigoAlumno, null);
+            }
             return filasAfectadas > 0;
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al eliminar alumno: " + e.getMessage());
             return false;
@@ -168,7 +307,7 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             if (rs.next()) {
                 return Optional.of(construirAlumno(rs));
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al buscar alumno: " + e.getMessage());
         }
@@ -176,6 +315,40 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
         return Optional.empty();
     }
     
+    @Override
+    public Map<String, Alumno> buscarPorCodigos(Collection<String> codigos) {
+        // Una consulta IN por cada FILAS_POR_LOTE códigos, con una sola conexión
+        Map<String, Alumno> encontrados = new HashMap<>();
+        List<String> pendientes = new ArrayList<>(codigos);
+        
+        try (Connection conn = getConexion()) {
+            for (int inicio = 0; inicio < pendientes.size(); inicio += FILAS_POR_LOTE) {
+                List<String> lote = pendientes.subList(inicio, Math.min(inicio + FILAS_POR_LOTE, pendientes.size()));
+                String sql = "SELECT * FROM alumnos WHERE codigo_alumno IN (" +
+                            String.join(", ", Collections.nCopies(lote.size(), "?")) + ")";
+                
+                try (PreparedStatement stmt = prepararSinCache(conn, sql)) {
+                    int i = 1;
+                    for (String codigo : lote) {
+                        stmt.setString(i++, codigo);
+                    }
+                    
+                    ResultSet rs = stmt.executeQuery();
+                    
+                    while (rs.next()) {
+                        Alumno alumno = construirAlumno(rs);
+                        encontrados.put(alumno.getCodigoAlumno(), alumno);
+                    }
+                }
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al buscar alumnos: " + e.getMessage());
+        }
+        
+        return encontrados;
+    }
+    
     @Override
     public List<Alumno> obtenerTodos() {
         List<Alumno> alumnos = new ArrayList<>();
@@ -188,7 +361,7 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             while (rs.next()) {
                 alumnos.add(construirAlumno(rs));
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al obtener alumnos: " + e.getMessage());
         }
@@ -196,18 +369,110 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
         return alumnos;
     }
     
+    @Override
+    public Stream<Alumno> recorrerTodos() {
+        return recorrerTodos(FILAS_POR_LECTURA);
+    }
+    
+    /**
+     * Recorre todos los alumnos leyendo de a bloques con un cursor del servidor
+     * Un hilo lector trae los bloques y los deja en un buffer acotado (ver
+     * BufferLectura) mientras el consumidor procesa los anteriores; la memoria
+     * usada depende del tamaño del bloque, no del de la tabla. El flujo debe
+     * cerrarse: mantiene una conexión del pool hasta entonces
+     * @param filasPorLectura Filas que se piden al servidor en cada viaje
+     * @return Flujo de alumnos en el mismo orden que obtenerTodos(); un error
+     *         a mitad de la lectura llega al consumidor como IllegalStateException
+     */
+    public Stream<Alumno> recorrerTodos(int filasPorLectura) {
+        if (filasPorLectura < 1) {
+            throw new IllegalArgumentException("Las filas por lectura deben ser positivas");
+        }
+        String sql = "SELECT * FROM alumnos ORDER BY apellido, nombre";
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        
+        try {
+            conn = getConexion();
+            // La variante de tres argumentos no pasa por el caché de sentencias,
+            // así el tamaño de lectura no queda en una sentencia reutilizada
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Con useCursorFetch, Connector/J pide las filas de a filasPorLectura;
+            // a diferencia de la lectura fila a fila (MIN_VALUE), cerrar antes del
+            // final no obliga a leer el resto del resultado
+            stmt.setFetchSize(filasPorLectura);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            System.err.println("Error al recorrer alumnos: " + e.getMessage());
+            cerrar(rs, stmt, conn);
+            return Stream.empty();
+        }
+        
+        BufferLectura<Alumno> buffer = new BufferLectura<>(filasPorLectura);
+        ResultSet filas = rs;
+        PreparedStatement sentencia = stmt;
+        Connection conexion = conn;
+        AlumnoRepositoryAsync.hilos().execute(() -> {
+            try {
+                while (filas.next()) {
+                    if (!buffer.poner(construirAlumno(filas))) {
+                        return; // Flujo cerrado o abandonado
+                    }
+                }
+                buffer.terminar();
+            } catch (SQLException | RuntimeException e) {
+                // El consumidor recibe el error al llegar a este punto del flujo
+                System.err.println("Error al recorrer alumnos: " + e.getMessage());
+                buffer.fallar(e);
+            } catch (InterruptedException e) {
+                buffer.fallar(e);
+                Thread.currentThread().interrupt();
+            } finally {
+                cerrar(filas, sentencia, conexion);
+            }
+        });
+        
+        return StreamSupport.stream(buffer, false).onClose(buffer::cancelar);
+    }
+    
     @Override
     public List<Alumno> buscarPorNombre(String termino) {
-        List<Alumno> alumnos = new ArrayList<>();
-        String sql = "SELECT * FROM alumnos WHERE " +
-                    "LOWER(nombre) LIKE ? OR LOWER(apellido) LIKE ? OR " +
-                    "LOWER(CONCAT(nombre, ' ', apellido)) LIKE ? " +
+        return buscarPorNombre(termino, "*", this::construirAlumno, Alumno::getNombreCompleto);
+    }
+    
+    @Override
+    public List<AlumnoResumen> buscarResumenPorNombre(String termino) {
+        return buscarPorNombre(termino, COLUMNAS_RESUMEN, AlumnoRepositoryMySQL::construirResumen,
+                               AlumnoResumen::getNombreCompleto);
+    }
+    
+    // Búsqueda por nombre que lee solo las columnas indicadas
+    private <T> List<T> buscarPorNombre(String termino, String columnas, LectorFila<T> lector,
+                                        Function<T, String> nombreCompleto) {
+        // Primero el índice de trigramas: solo se leen las filas candidatas
+        IndiceTrigramas indice = indiceNombres();
+        if (indice != null) {
+            Set<String> codigos = indice.buscar(termino);
+            if (codigos.isEmpty()) {
+                return new ArrayList<>();
+            }
+            if (codigos.size() <= MAXIMO_CANDIDATOS_INDICE) {
+                return buscarCandidatosPorNombre(codigos, termino, columnas, lector, nombreCompleto);
+            }
+        }
+        
+        List<T> alumnos = new ArrayList<>();
+        String sql = "SELECT " + columnas + " FROM alumnos WHERE " +
+                    "nombre LIKE ? OR apellido LIKE ? OR " +
+                    "CONCAT(nombre, ' ', apellido) LIKE ? " +
                     "ORDER BY apellido, nombre";
         
         try (Connection conn = getConexion();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            String patron = "%" + termino.toLowerCase() + "%";
+            // La colación _ci ignora mayúsculas: no hace falta LOWER()
+            String patron = "%" + termino + "%";
             stmt.setString(1, patron);
             stmt.setString(2, patron);
             stmt.setString(3, patron);
@@ -215,9 +480,9 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             ResultSet rs = stmt.executeQuery();
             
             while (rs.next()) {
-                alumnos.add(construirAlumno(rs));
+                alumnos.add(lector.leer(rs));
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al buscar por nombre: " + e.getMessage());
         }
@@ -238,7 +503,7 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             if (rs.next()) {
                 return Optional.of(construirAlumno(rs));
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al buscar por DNI: " + e.getMessage());
         }
@@ -249,19 +514,17 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
     @Override
     public List<Alumno> buscarPorCarrera(String carrera) {
         List<Alumno> alumnos = new ArrayList<>();
-        String sql = "SELECT * FROM alumnos WHERE LOWER(carrera) = ? " +
-                    "ORDER BY apellido, nombre";
         
         try (Connection conn = getConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_POR_CARRERA)) {
             
-            stmt.setString(1, carrera.toLowerCase());
+            stmt.setString(1, carrera);
             ResultSet rs = stmt.executeQuery();
             
             while (rs.next()) {
                 alumnos.add(construirAlumno(rs));
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al buscar por carrera: " + e.getMessage());
         }
@@ -272,19 +535,17 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
     @Override
     public List<Alumno> buscarPorEstado(String estado) {
         List<Alumno> alumnos = new ArrayList<>();
-        String sql = "SELECT * FROM alumnos WHERE LOWER(estado) = ? " +
-                    "ORDER BY apellido, nombre";
         
         try (Connection conn = getConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_POR_ESTADO)) {
             
-            stmt.setString(1, estado.toLowerCase());
+            stmt.setString(1, estado);
             ResultSet rs = stmt.executeQuery();
             
             while (rs.next()) {
                 alumnos.add(construirAlumno(rs));
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al buscar por estado: " + e.getMessage());
         }
@@ -292,6 +553,50 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
         return alumnos;
     }
     
+    @Override
+    public List<Alumno> buscarPorCriterios(String carrera, String estado,
+                                           int cicloMinimo, double promedioMinimo) {
+        List<Alumno> alumnos = new ArrayList<>();
+        // Un solo WHERE con los criterios presentes; los ausentes se omiten
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM alumnos WHERE 1 = 1");
+        if (carrera != null) {
+            sql.append(" AND carrera = ?");
+            parametros.add(carrera);
+        }
+        if (estado != null) {
+            sql.append(" AND estado = ?");
+            parametros.add(estado);
+        }
+        if (cicloMinimo > 0) {
+            sql.append(" AND ciclo >= ?");
+            parametros.add(cicloMinimo);
+        }
+        if (promedioMinimo > 0) {
+            sql.append(" AND promedio >= ?");
+            parametros.add(promedioMinimo);
+        }
+        sql.append(" ORDER BY apellido, nombre");
+        
+        try (Connection conn = getConexion();
+             PreparedStatement stmt = prepararSinCache(conn, sql.toString())) {
+            
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                alumnos.add(construirAlumno(rs));
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al buscar por criterios: " + e.getMessage());
+        }
+        
+        return alumnos;
+    }
+    
     @Override
     public List<Alumno> buscarPorCiclo(int ciclo) {
         List<Alumno> alumnos = new ArrayList<>();
@@ -307,7 +612,7 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             while (rs.next()) {
                 alumnos.add(construirAlumno(rs));
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al buscar por ciclo: " + e.getMessage());
         }
@@ -326,7 +631,7 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             if (rs.next()) {
                 return rs.getInt("total");
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al contar alumnos: " + e.getMessage());
         }
@@ -336,18 +641,16 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
     
     @Override
     public int contarPorEstado(String estado) {
-        String sql = "SELECT COUNT(*) as total FROM alumnos WHERE LOWER(estado) = ?";
-        
         try (Connection conn = getConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_CONTAR_POR_ESTADO)) {
             
-            stmt.setString(1, estado.toLowerCase());
+            stmt.setString(1, estado);
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
                 return rs.getInt("total");
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al contar por estado: " + e.getMessage());
         }
@@ -358,17 +661,15 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
     @Override
     public List<Alumno> obtenerEnRiesgoAcademico() {
         List<Alumno> alumnos = new ArrayList<>();
-        String sql = "SELECT * FROM alumnos WHERE promedio < 11.0 AND estado = 'Activo' " +
-                    "ORDER BY promedio ASC";
         
         try (Connection conn = getConexion();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = stmt.executeQuery(SQL_EN_RIESGO)) {
             
             while (rs.next()) {
                 alumnos.add(construirAlumno(rs));
             }
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al obtener alumnos en riesgo: " + e.getMessage());
         }
@@ -376,14 +677,217 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
         return alumnos;
     }
     
+    @Override
+    public List<Alumno> obtenerMejoresPromedios(int limite) {
+        List<Alumno> alumnos = new ArrayList<>();
+        
+        try (Connection conn = getConexion();
+             PreparedStatement stmt = conn.prepareStatement(SQL_MEJORES_PROMEDIOS)) {
+            
+            stmt.setInt(1, limite);
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                alumnos.add(construirAlumno(rs));
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al obtener mejores promedios: " + e.getMessage());
+        }
+        
+        return alumnos;
+    }
+    
+    @Override
+    public List<Alumno> buscarPorRangoPromedio(String estado, double minimo, double maximo) {
+        List<Alumno> alumnos = new ArrayList<>();
+        String sql = sqlRangoPromedio(!Double.isInfinite(minimo), !Double.isInfinite(maximo));
+        
+        try (Connection conn = getConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int i = 1;
+            stmt.setString(i++, estado);
+            if (!Double.isInfinite(minimo)) {
+                stmt.setDouble(i++, minimo);
+            }
+            if (!Double.isInfinite(maximo)) {
+                stmt.setDouble(i++, maximo);
+            }
+            
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                alumnos.add(construirAlumno(rs));
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al buscar por rango de promedio: " + e.getMessage());
+        }
+        
+        return alumnos;
+    }
+    
+    // Rango sobre idx_estado_promedio; los límites infinitos se omiten
+    static String sqlRangoPromedio(boolean conMinimo, boolean conMaximo) {
+        return "SELECT * FROM alumnos WHERE estado = ?" +
+               (conMinimo ? " AND promedio >= ?" : "") +
+               (conMaximo ? " AND promedio < ?" : "") +
+               " ORDER BY promedio ASC";
+    }
+    
+    @Override
+    public PaginaAlumnos obtenerPagina(String continuacion, int tamanio) {
+        CursorAlumno.validarTamanio(tamanio);
+        CursorAlumno cursor = CursorAlumno.desdeToken(continuacion);
+        return CursorAlumno.armarPagina(leerPagina(cursor, tamanio, "*", this::construirAlumno), tamanio);
+    }
+    
+    @Override
+    public PaginaResumen obtenerPaginaResumen(String continuacion, int tamanio) {
+        CursorAlumno.validarTamanio(tamanio);
+        CursorAlumno cursor = CursorAlumno.desdeToken(continuacion);
+        return CursorAlumno.armarPaginaResumen(
+                leerPagina(cursor, tamanio, COLUMNAS_RESUMEN, AlumnoRepositoryMySQL::construirResumen),
+                tamanio);
+    }
+    
+    // Paginación por clave sobre idx_orden_alfabetico: cada página busca la
+    // posición del cursor en el índice, sin recorrer las anteriores (OFFSET)
+    static String sqlPagina(String columnas, boolean conCursor) {
+        return "SELECT " + columnas + " FROM alumnos" +
+               (conCursor ? " WHERE (apellido, nombre, codigo_alumno) > (?, ?, ?)" : "") +
+               " ORDER BY apellido, nombre, codigo_alumno LIMIT ?";
+    }
+    
+    // Lee hasta tamanio + 1 filas después del cursor, solo con las columnas indicadas
+    private <T> List<T> leerPagina(CursorAlumno cursor, int tamanio, String columnas, LectorFila<T> lector) {
+        List<T> alumnos = new ArrayList<>();
+        
+        try (Connection conn = getConexion();
+             PreparedStatement stmt = conn.prepareStatement(sqlPagina(columnas, cursor != null))) {
+            
+            int i = 1;
+            if (cursor != null) {
+                stmt.setString(i++, cursor.apellido);
+                stmt.setString(i++, cursor.nombre);
+                stmt.setString(i++, cursor.codigoAlumno);
+            }
+            stmt.setInt(i, tamanio + 1);
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                alumnos.add(lector.leer(rs));
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al obtener página de alumnos: " + e.getMessage());
+        }
+        
+        return alumnos;
+    }
+    
+    @Override
+    public EstadisticasDTO obtenerEstadisticas() {
+        // Contadores mantenidos por triggers, repartidos en franjas para que las
+        // escrituras concurrentes no se esperen entre sí (ver script SQL al final)
+        String sql = "SELECT SUM(total), SUM(activos), SUM(inactivos), SUM(egresados), " +
+                    "SUM(en_riesgo), SUM(suma_promedio_activos), COUNT(*) FROM alumnos_estadisticas";
+        
+        try (Connection conn = getConexion();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            if (rs.next() && rs.getInt(7) > 0) {
+                return construirEstadisticas(rs);
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al leer estadísticas: " + e.getMessage());
+        }
+        
+        // Sin tabla de estadísticas: calcularlas sobre la tabla de alumnos
+        return calcularEstadisticas();
+    }
+    
+    // Una sola consulta con agregación condicional en lugar de un COUNT por estado
+    private EstadisticasDTO calcularEstadisticas() {
+        try (Connection conn = getConexion();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + COLUMNAS_ESTADISTICAS + " FROM alumnos")) {
+            
+            if (rs.next()) {
+                return construirEstadisticas(rs);
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al calcular estadísticas: " + e.getMessage());
+        }
+        
+        return new EstadisticasDTO(0, 0, 0, 0, 0, 0.0);
+    }
+    
+    /**
+     * Vuelve a calcular la tabla alumnos_estadisticas desde la tabla de alumnos
+     * Sirve si los contadores se desalinearon (por ejemplo, cambios hechos con
+     * los triggers deshabilitados o una restauración parcial)
+     * @return true si la tabla quedó actualizada
+     */
+    public boolean recalcularEstadisticas() {
+        // Pone todas las franjas en cero (y crea las que falten) y deja los
+        // totales en la franja 0
+        String reiniciar = "INSERT INTO alumnos_estadisticas (id) VALUES " +
+                    MigracionesMySQL.filasFranjas() + " ON DUPLICATE KEY UPDATE " +
+                    "total = 0, activos = 0, inactivos = 0, egresados = 0, " +
+                    "en_riesgo = 0, suma_promedio_activos = 0";
+        String totales = "REPLACE INTO alumnos_estadisticas (id, total, activos, inactivos, " +
+                    "egresados, en_riesgo, suma_promedio_activos) " +
+                    "SELECT 0, " + COLUMNAS_ESTADISTICAS + " FROM alumnos";
+        
+        try (Connection conn = getConexion();
+             Statement stmt = conn.createStatement()) {
+            
+            conn.setAutoCommit(false);
+            try {
+                stmt.executeUpdate(reiniciar);
+                stmt.executeUpdate(totales);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            return true;
+        
+        } catch (SQLException e) {
+            System.err.println("Error al recalcular estadísticas: " + e.getMessage());
+            return false;
+        }
+    }
+    
     @Override
     public boolean existe(String codigoAlumno) {
-        return buscarPorCodigo(codigoAlumno).isPresent();
+        return existeFila("SELECT 1 FROM alumnos WHERE codigo_alumno = ? LIMIT 1", codigoAlumno);
     }
     
     @Override
     public boolean existePorDNI(String dni) {
-        return buscarPorDNI(dni).isPresent();
+        return existeFila("SELECT 1 FROM alumnos WHERE dni = ? LIMIT 1", dni);
+    }
+    
+    // Verifica la clave sin leer ni construir el alumno
+    private boolean existeFila(String sql, String clave) {
+        try (Connection conn = getConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, clave);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al verificar existencia: " + e.getMessage());
+            return false;
+        }
     }
     
     @Override
@@ -394,8 +898,9 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
              Statement stmt = conn.createStatement()) {
             
             stmt.executeUpdate(sql);
+            cambiarIndiceNombres(null, null);
             System.out.println("✓ Base de datos limpiada");
-            
+        
         } catch (SQLException e) {
             System.err.println("Error al limpiar base de datos: " + e.getMessage());
         }
@@ -406,6 +911,267 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
         return "MySQL Database (" + URL + ")";
     }
     
+    @Override
+    public boolean seguroParaHilos() {
+        // Cada operación usa su propia conexión del pool
+        return true;
+    }
+    
+    /**
+     * Descarta el índice de nombres para que se vuelva a cargar desde la tabla
+     * en la próxima búsqueda
+     */
+    public void recargarIndiceNombres() {
+        synchronized (candadoIndice) {
+            // Una carga en curso puede haber leído la tabla antes del cambio: se descarta
+            versionIndiceNombres++;
+            indiceNombres = null;
+            cambiosDuranteCarga = null;
+        }
+    }
+    
+    // Índice de nombres vigente; lo carga la primera vez y lo recarga cuando
+    // vence. Mientras otro hilo lo carga se usa el anterior, o null (consulta
+    // LIKE) si todavía no hay ninguno
+    private IndiceTrigramas indiceNombres() {
+        long version;
+        synchronized (candadoIndice) {
+            boolean vigente = indiceNombres != null &&
+                System.currentTimeMillis() - indiceNombresCargadoEn < VIGENCIA_INDICE_NOMBRES_MS;
+            if (vigente || cambiosDuranteCarga != null) {
+                return indiceNombres;
+            }
+            cambiosDuranteCarga = new ArrayList<>();
+            version = versionIndiceNombres;
+        }
+        
+        IndiceTrigramas nuevo = new IndiceTrigramas();
+        long inicio = System.currentTimeMillis();
+        boolean cargado = false;
+        String sql = "SELECT codigo_alumno, nombre, apellido FROM alumnos";
+        
+        try (Connection conn = getConexion();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                nuevo.agregar(rs.getString("codigo_alumno"),
+                    rs.getString("nombre") + " " + rs.getString("apellido"));
+            }
+            cargado = true;
+        
+        } catch (SQLException e) {
+            System.err.println("Error al cargar índice de nombres: " + e.getMessage());
+        }
+        
+        synchronized (candadoIndice) {
+            if (version != versionIndiceNombres) {
+                return indiceNombres;
+            }
+            if (cargado) {
+                // Las escrituras confirmadas durante la lectura pueden no estar
+                // en ella: se aplican encima, en el orden en que ocurrieron
+                for (String[] cambio : cambiosDuranteCarga) {
+                    aplicarCambioNombre(nuevo, cambio[0], cambio[1]);
+                }
+                indiceNombres = nuevo;
+                indiceNombresCargadoEn = inicio;
+            }
+            cambiosDuranteCarga = null;
+            return indiceNombres;
+        }
+    }
+    
+    private void indexarNombre(Alumno alumno) {
+        cambiarIndiceNombres(alumno.getCodigoAlumno(), alumno.getNombre() + " " + alumno.getApellido());
+    }
+    
+    // Lleva una escritura ya confirmada al índice vigente y, si se está cargando
+    // uno nuevo, la anota para aplicarla al terminar la carga. Código null:
+    // se vació la tabla; texto null: se eliminó el alumno
+    private void cambiarIndiceNombres(String codigoAlumno, String texto) {
+        synchronized (candadoIndice) {
+            if (indiceNombres != null) {
+                aplicarCambioNombre(indiceNombres, codigoAlumno, texto);
+            }
+            if (cambiosDuranteCarga != null) {
+                cambiosDuranteCarga.add(new String[] {codigoAlumno, texto});
+            }
+        }
+    }
+    
+    private static void aplicarCambioNombre(IndiceTrigramas indice, String codigoAlumno, String texto) {
+        if (codigoAlumno == null) {
+            indice.limpiar();
+        } else if (texto == null) {
+            indice.quitar(codigoAlumno);
+        } else {
+            indice.agregar(codigoAlumno, texto);
+        }
+    }
+    
+    // Lee las filas candidatas del índice y descarta las que ya no coinciden
+    private <T> List<T> buscarCandidatosPorNombre(Collection<String> codigos, String termino,
+                                                  String columnas, LectorFila<T> lector,
+                                                  Function<T, String> nombreCompleto) {
+        List<T> alumnos = new ArrayList<>();
+        String marcadores = String.join(", ", Collections.nCopies(codigos.size(), "?"));
+        String sql = "SELECT " + columnas + " FROM alumnos WHERE codigo_alumno IN (" + marcadores + ") " +
+                    "ORDER BY apellido, nombre";
+        String buscado = IndiceTrigramas.normalizar(termino);
+        
+        try (Connection conn = getConexion();
+             PreparedStatement stmt = prepararSinCache(conn, sql)) {
+            
+            int i = 1;
+            for (String codigo : codigos) {
+                stmt.setString(i++, codigo);
+            }
+            
+            ResultSet rs = stmt.executeQuery();
+            
+            while (rs.next()) {
+                T alumno = lector.leer(rs);
+                if (IndiceTrigramas.normalizar(nombreCompleto.apply(alumno)).contains(buscado)) {
+                    alumnos.add(alumno);
+                }
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al buscar por nombre: " + e.getMessage());
+        }
+        
+        return alumnos;
+    }
+    
+    // Ejecuta INSERT o UPDATE por lotes de FILAS_POR_LOTE, con una transacción
+    // por lote. Si un lote falla (por ejemplo, un DNI duplicado dentro de un
+    // INSERT reescrito), se deshace y se repite fila por fila para saber el
+    // resultado de cada una
+    private List<Boolean> ejecutarLote(List<Alumno> alumnos, String sql, boolean insercion) {
+        List<Boolean> resultados = new ArrayList<>(Collections.nCopies(alumnos.size(), false));
+        
+        try (Connection conn = getConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            conn.setAutoCommit(false);
+            for (int inicio = 0; inicio < alumnos.size(); inicio += FILAS_POR_LOTE) {
+                int fin = Math.min(inicio + FILAS_POR_LOTE, alumnos.size());
+                
+                // Solo se envían las filas válidas
+                List<Integer> enviadas = new ArrayList<>();
+                for (int i = inicio; i < fin; i++) {
+                    Alumno alumno = alumnos.get(i);
+                    if (alumno != null && alumno.validarDatos()) {
+                        asignarParametros(stmt, alumno, insercion);
+                        stmt.addBatch();
+                        enviadas.add(i);
+                    }
+                }
+                if (enviadas.isEmpty()) {
+                    continue;
+                }
+                
+                try {
+                    int[] conteos = stmt.executeBatch();
+                    conn.commit();
+                    for (int j = 0; j < enviadas.size(); j++) {
+                        // Con lotes reescritos el driver informa SUCCESS_NO_INFO
+                        resultados.set(enviadas.get(j),
+                            conteos[j] > 0 || conteos[j] == Statement.SUCCESS_NO_INFO);
+                    }
+                } catch (BatchUpdateException e) {
+                    stmt.clearBatch();
+                    conn.rollback();
+                    for (int i : enviadas) {
+                        resultados.set(i, ejecutarFila(stmt, alumnos.get(i), insercion));
+                    }
+                    conn.commit();
+                }
+            }
+        
+        } catch (SQLException e) {
+            System.err.println("Error al ejecutar lote de alumnos: " + e.getMessage());
+        }
+        
+        for (int i = 0; i < alumnos.size(); i++) {
+            if (resultados.get(i)) {
+                indexarNombre(alumnos.get(i));
+            }
+        }
+        return resultados;
+    }
+    
+    // Ejecuta una sola fila dentro de la transacción del lote
+    private boolean ejecutarFila(PreparedStatement stmt, Alumno alumno, boolean insercion) {
+        try {
+            asignarParametros(stmt, alumno, insercion);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error en alumno " + alumno.getCodigoAlumno() + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private static void asignarParametros(PreparedStatement stmt, Alumno alumno,
+                                          boolean insercion) throws SQLException {
+        if (insercion) {
+            asignarInsercion(stmt, alumno);
+        } else {
+            asignarActualizacion(stmt, alumno);
+        }
+    }
+    
+    // Parámetros de SQL_INSERTAR
+    private static void asignarInsercion(PreparedStatement stmt, Alumno alumno) throws SQLException {
+        stmt.setString(1, alumno.getCodigoAlumno());
+        stmt.setString(2, alumno.getNombre());
+        stmt.setString(3, alumno.getApellido());
+        stmt.setString(4, alumno.getDni());
+        stmt.setString(5, alumno.getFechaNacimiento());
+        stmt.setString(6, alumno.getDireccion());
+        stmt.setString(7, alumno.getTelefono());
+        stmt.setString(8, alumno.getEmail());
+        stmt.setString(9, alumno.getCarrera());
+        stmt.setInt(10, alumno.getCiclo());
+        stmt.setDouble(11, alumno.getPromedio());
+        stmt.setString(12, alumno.getEstado());
+        stmt.setString(13, alumno.getFechaIngreso());
+        stmt.setInt(14, alumno.getCreditosAcumulados());
+    }
+    
+    // Parámetros de SQL_ACTUALIZAR
+    private static void asignarActualizacion(PreparedStatement stmt, Alumno alumno) throws SQLException {
+        stmt.setString(1, alumno.getNombre());
+        stmt.setString(2, alumno.getApellido());
+        stmt.setString(3, alumno.getDni());
+        stmt.setString(4, alumno.getFechaNacimiento());
+        stmt.setString(5, alumno.getDireccion());
+        stmt.setString(6, alumno.getTelefono());
+        stmt.setString(7, alumno.getEmail());
+        stmt.setString(8, alumno.getCarrera());
+        stmt.setInt(9, alumno.getCiclo());
+        stmt.setDouble(10, alumno.getPromedio());
+        stmt.setString(11, alumno.getEstado());
+        stmt.setString(12, alumno.getFechaIngreso());
+        stmt.setInt(13, alumno.getCreditosAcumulados());
+        stmt.setString(14, alumno.getCodigoAlumno());
+    }
+    
+    // Cierra los recursos JDBC en orden, aunque alguno falle
+    private static void cerrar(AutoCloseable... recursos) {
+        for (AutoCloseable recurso : recursos) {
+            if (recurso == null) {
+                continue;
+            }
+            try {
+                recurso.close();
+            } catch (Exception e) {
+                System.err.println("Error al cerrar recurso: " + e.getMessage());
+            }
+        }
+    }
+    
     // Método auxiliar para construir objeto Alumno desde ResultSet
     private Alumno construirAlumno(ResultSet rs) throws SQLException {
         return new Alumno(
@@ -425,6 +1191,37 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
             rs.getInt("creditos_acumulados")
         );
     }
+    
+    private static AlumnoResumen construirResumen(ResultSet rs) throws SQLException {
+        return new AlumnoResumen(
+            rs.getString("codigo_alumno"),
+            rs.getString("nombre"),
+            rs.getString("apellido"),
+            rs.getString("dni"),
+            rs.getString("carrera"),
+            rs.getInt("ciclo"),
+            rs.getDouble("promedio"),
+            rs.getString("estado")
+        );
+    }
+    
+    // Columnas por posición: total, activos, inactivos, egresados, en riesgo y
+    // suma de promedios de los activos (alumnos_estadisticas o COLUMNAS_ESTADISTICAS)
+    private static EstadisticasDTO construirEstadisticas(ResultSet rs) throws SQLException {
+        int activos = rs.getInt(2);
+        double suma = rs.getDouble(6);
+        return new EstadisticasDTO(
+            rs.getInt(1), activos,
+            rs.getInt(3), rs.getInt(4),
+            rs.getInt(5), activos > 0 ? suma / activos : 0.0
+        );
+    }
+    
+    // Convierte la fila actual del ResultSet (construirAlumno, construirResumen)
+    @FunctionalInterface
+    private interface LectorFila<T> {
+        T leer(ResultSet rs) throws SQLException;
+    }
 }
 
 /*
@@ -432,7 +1229,9 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
  * SCRIPT SQL PARA CREAR LA BASE DE DATOS
  * ============================================================================
  * 
- * Ejecuta este script en MySQL para crear la base de datos y la tabla:
+ * Solo hay que crear la base de datos; las tablas, índices y triggers los crea
+ * MigracionesMySQL al iniciar el repositorio (tabla esquema_version). Abajo
+ * queda el esquema resultante como referencia.
  * 
  * -- Crear la base de datos
  * CREATE DATABASE IF NOT EXISTS sideral_carreon
@@ -443,10 +1242,10 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
  * -- Crear la tabla de alumnos
  * CREATE TABLE IF NOT EXISTS alumnos (
  *     id INT AUTO_INCREMENT PRIMARY KEY,
- *     codigo_alumno VARCHAR(10) NOT NULL UNIQUE,
+ *     codigo_alumno VARCHAR(10) NOT NULL,
  *     nombre VARCHAR(100) NOT NULL,
  *     apellido VARCHAR(100) NOT NULL,
- *     dni VARCHAR(8) NOT NULL UNIQUE,
+ *     dni VARCHAR(8) NOT NULL,
  *     fecha_nacimiento DATE,
  *     direccion VARCHAR(255),
  *     telefono VARCHAR(9),
@@ -459,10 +1258,11 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
  *     creditos_acumulados INT DEFAULT 0,
  *     fecha_registro TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
  *     fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
- *     INDEX idx_codigo (codigo_alumno),
- *     INDEX idx_dni (dni),
- *     INDEX idx_carrera (carrera),
- *     INDEX idx_estado (estado),
+ *     UNIQUE INDEX uq_codigo (codigo_alumno),
+ *     UNIQUE INDEX uq_dni (dni),
+ *     INDEX idx_carrera_orden (carrera, apellido, nombre),
+ *     INDEX idx_estado_promedio (estado, promedio),
+ *     INDEX idx_orden_alfabetico (apellido, nombre, codigo_alumno),
  *     INDEX idx_nombre (nombre, apellido)
  * ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
  * 
@@ -478,5 +1278,61 @@ public class AlumnoRepositoryMySQL implements IAlumnoRepository {
  *  'Calle Secundaria 456, Lima', '912345678', 'maria.garcia@sideral.edu.pe',
  *  'Administración de Empresas', 3, 16.2, 'Activo', '2021-03-01', 75);
  * 
+ * -- Estadísticas mantenidas de forma incremental (lectura en tiempo constante).
+ * -- Cada conexión suma en una de 16 filas (franjas) para que las escrituras
+ * -- concurrentes no esperen el bloqueo de una fila única; la lectura suma las 16
+ * CREATE TABLE IF NOT EXISTS alumnos_estadisticas (
+ *     id TINYINT PRIMARY KEY,
+ *     total INT NOT NULL DEFAULT 0,
+ *     activos INT NOT NULL DEFAULT 0,
+ *     inactivos INT NOT NULL DEFAULT 0,
+ *     egresados INT NOT NULL DEFAULT 0,
+ *     en_riesgo INT NOT NULL DEFAULT 0,
+ *     suma_promedio_activos DECIMAL(14,2) NOT NULL DEFAULT 0
+ * ) ENGINE=InnoDB;
+ * 
+ * INSERT INTO alumnos_estadisticas (id) VALUES
+ * (0), (1), (2), (3), (4), (5), (6), (7), (8), (9), (10), (11), (12), (13), (14), (15);
+ * 
+ * REPLACE INTO alumnos_estadisticas
+ * SELECT 0, COUNT(*),
+ *        COALESCE(SUM(estado <=> 'Activo'), 0),
+ *        COALESCE(SUM(estado <=> 'Inactivo'), 0),
+ *        COALESCE(SUM(estado <=> 'Egresado'), 0),
+ *        COALESCE(SUM(estado <=> 'Activo' AND promedio < 11.0), 0),
+ *        COALESCE(SUM(IF(estado <=> 'Activo', promedio, 0)), 0)
+ * FROM alumnos;
+ * 
+ * CREATE TRIGGER trg_alumnos_estadisticas_ins AFTER INSERT ON alumnos
+ * FOR EACH ROW UPDATE alumnos_estadisticas SET
+ *     total = total + 1,
+ *     activos = activos + (NEW.estado <=> 'Activo'),
+ *     inactivos = inactivos + (NEW.estado <=> 'Inactivo'),
+ *     egresados = egresados + (NEW.estado <=> 'Egresado'),
+ *     en_riesgo = en_riesgo + (NEW.estado <=> 'Activo' AND NEW.promedio < 11.0),
+ *     suma_promedio_activos = suma_promedio_activos + IF(NEW.estado <=> 'Activo', NEW.promedio, 0)
+ * WHERE id = CONNECTION_ID() % 16;
+ * 
+ * CREATE TRIGGER trg_alumnos_estadisticas_upd AFTER UPDATE ON alumnos
+ * FOR EACH ROW UPDATE alumnos_estadisticas SET
+ *     activos = activos + (NEW.estado <=> 'Activo') - (OLD.estado <=> 'Activo'),
+ *     inactivos = inactivos + (NEW.estado <=> 'Inactivo') - (OLD.estado <=> 'Inactivo'),
+ *     egresados = egresados + (NEW.estado <=> 'Egresado') - (OLD.estado <=> 'Egresado'),
+ *     en_riesgo = en_riesgo + (NEW.estado <=> 'Activo' AND NEW.promedio < 11.0)
+ *                           - (OLD.estado <=> 'Activo' AND OLD.promedio < 11.0),
+ *     suma_promedio_activos = suma_promedio_activos + IF(NEW.estado <=> 'Activo', NEW.promedio, 0)
+ *                                                   - IF(OLD.estado <=> 'Activo', OLD.promedio, 0)
+ * WHERE id = CONNECTION_ID() % 16;
+ * 
+ * CREATE TRIGGER trg_alumnos_estadisticas_del AFTER DELETE ON alumnos
+ * FOR EACH ROW UPDATE alumnos_estadisticas SET
+ *     total = total - 1,
+ *     activos = activos - (OLD.estado <=> 'Activo'),
+ *     inactivos = inactivos - (OLD.estado <=> 'Inactivo'),
+ *     egresados = egresados - (OLD.estado <=> 'Egresado'),
+ *     en_riesgo = en_riesgo - (OLD.estado <=> 'Activo' AND OLD.promedio < 11.0),
+ *     suma_promedio_activos = suma_promedio_activos - IF(OLD.estado <=> 'Activo', OLD.promedio, 0)
+ * WHERE id = CONNECTION_ID() % 16;
+ * 
  * ============================================================================
  */
\ No newline at end of file
@@ -0,0 +1,124 @@
+package src.repositorio;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Cola acotada entre un hilo lector (que lee filas de la base de datos) y el
+ * consumidor de un Stream
+ *
+ * El lector se adelanta como máximo la capacidad de la cola; si el consumidor
+ * va más lento, el lector espera. Así la memoria usada no depende del tamaño
+ * del resultado. Si el consumidor cierra el flujo antes del final, o deja de
+ * leer durante ESPERA_CONSUMIDOR_MS, el lector se detiene y libera la conexión.
+ *
+ * Si la lectura falla (error de la base de datos, lector interrumpido o
+ * abandonado por esperar demasiado), el consumidor recibe primero lo que ya
+ * estaba en la cola y después una IllegalStateException con la causa, en vez
+ * de un fin de flujo que parecería normal.
+ */
+final class BufferLectura<T> extends Spliterators.AbstractSpliterator<T> {
+    
+    private static final long ESPERA_CONSUMIDOR_MS = 60_000;
+    private static final long REVISION_MS = 100;
+    
+    // Marca de fin en la cola
+    private static final Object FIN = new Object();
+    
+    private final BlockingQueue<Object> cola;
+    private volatile boolean cancelado;
+    // Motivo por el que el lector se detuvo antes del final (null si no falló)
+    private volatile IllegalStateException error;
+    private boolean terminado;
+    
+    BufferLectura(int capacidad) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+    }
+    
+    /**
+     * Lado del lector: agrega un elemento, esperando si la cola está llena
+     * @return false si el lector debe detenerse (flujo cerrado o abandonado)
+     */
+    boolean poner(T elemento) throws InterruptedException {
+        if (cancelado) {
+            return false;
+        }
+        if (!cola.offer(elemento, ESPERA_CONSUMIDOR_MS, TimeUnit.MILLISECONDS)) {
+            abandonar();
+        }
+        return !cancelado;
+    }
+    
+    /**
+     * Lado del lector: no hay más elementos
+     */
+    void terminar() throws InterruptedException {
+        if (!cancelado && !cola.offer(FIN, ESPERA_CONSUMIDOR_MS, TimeUnit.MILLISECONDS)) {
+            abandonar();
+        }
+    }
+    
+    /**
+     * Lado del lector: la lectura falló; el consumidor recibirá la causa
+     * después de los elementos que ya están en la cola
+     */
+    void fallar(Exception causa) {
+        if (!cancelado) {
+            error = new IllegalStateException("La lectura se interrumpió antes del final: " +
+                                              causa.getMessage(), causa);
+            cancelado = true;
+        }
+    }
+    
+    private void abandonar() {
+        System.err.println("Lectura abandonada: el consumidor no avanzó en " +
+                           ESPERA_CONSUMIDOR_MS + " ms");
+        fallar(new TimeoutException("el consumidor no avanzó en " + ESPERA_CONSUMIDOR_MS + " ms"));
+    }
+    
+    /**
+     * Lado del consumidor: detiene al lector (se llama al cerrar el flujo)
+     */
+    void cancelar() {
+        cancelado = true;
+        // Libera al lector si está esperando lugar en la cola
+        cola.clear();
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(Consumer<? super T> accion) {
+        if (terminado) {
+            return false;
+        }
+        try {
+            Object elemento;
+            while ((elemento = cola.poll(REVISION_MS, TimeUnit.MILLISECONDS)) == null) {
+                if (cancelado) {
+                    terminado = true;
+                    if (error != null) {
+                        throw error;
+                    }
+                    return false;
+                }
+            }
+            if (elemento == FIN) {
+                terminado = true;
+                return false;
+            }
+            accion.accept((T) elemento);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminado = true;
+            cancelar();
+            throw new IllegalStateException("Lectura interrumpida antes del final", e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package src.repositorio;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import src.modelo.*;
+
+/**
+ * Posición de una paginación por clave: el último (apellido, nombre, código)
+ * entregado. Viaja al cliente como un token opaco en Base64 (URL segura).
+ */
+final class CursorAlumno {
+    
+    // Orden de la paginación; el código desempata alumnos con el mismo nombre
+    static final Comparator<Alumno> ORDEN =
+            Comparator.comparing(Alumno::getApellido)
+                      .thenComparing(Alumno::getNombre)
+                      .thenComparing(Alumno::getCodigoAlumno);
+    
+    // Mismo orden entre cursores, para usarlos como clave de un índice ordenado
+    static final Comparator<CursorAlumno> ORDEN_CURSOR =
+            Comparator.comparing((CursorAlumno c) -> c.apellido)
+                      .thenComparing(c -> c.nombre)
+                      .thenComparing(c -> c.codigoAlumno);
+    
+    private static final int VERSION = 1;
+    
+    final String apellido;
+    final String nombre;
+    final String codigoAlumno;
+    
+    private CursorAlumno(String apellido, String nombre, String codigoAlumno) {
+        this.apellido = apellido;
+        this.nombre = nombre;
+        this.codigoAlumno = codigoAlumno;
+    }
+    
+    /**
+     * Interpreta un token de continuación
+     * @return El cursor, o null si el token es null o vacío (primera página)
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    static CursorAlumno desdeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token);
+            DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (entrada.readByte() != VERSION) {
+                throw new IllegalArgumentException("Token de paginación inválido");
+            }
+            return new CursorAlumno(entrada.readUTF(), entrada.readUTF(), entrada.readUTF());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token de paginación inválido", e);
+        }
+    }
+    
+    /**
+     * Posición del alumno en ORDEN
+     */
+    static CursorAlumno de(Alumno alumno) {
+        return new CursorAlumno(alumno.getApellido(), alumno.getNombre(), alumno.getCodigoAlumno());
+    }
+    
+    /**
+     * Verifica si el alumno va después del cursor en ORDEN
+     */
+    boolean precedeA(Alumno alumno) {
+        int comparacion = apellido.compareTo(alumno.getApellido());
+        if (comparacion == 0) {
+            comparacion = nombre.compareTo(alumno.getNombre());
+        }
+        if (comparacion == 0) {
+            comparacion = codigoAlumno.compareTo(alumno.getCodigoAlumno());
+        }
+        return comparacion < 0;
+    }
+    
+    /**
+     * Arma la página a partir de hasta tamanio + 1 alumnos ya ordenados;
+     * el alumno sobrante solo indica que hay una página siguiente
+     */
+    static PaginaAlumnos armarPagina(List<Alumno> alumnos, int tamanio) {
+        if (alumnos.size() <= tamanio) {
+            return new PaginaAlumnos(alumnos, null);
+        }
+        List<Alumno> pagina = alumnos.subList(0, tamanio);
+        Alumno ultimo = pagina.get(tamanio - 1);
+        return new PaginaAlumnos(pagina, token(ultimo.getApellido(), ultimo.getNombre(),
+                                               ultimo.getCodigoAlumno()));
+    }
+    
+    /**
+     * Igual que armarPagina, para una página de resúmenes
+     */
+    static PaginaResumen armarPaginaResumen(List<AlumnoResumen> alumnos, int tamanio) {
+        if (alumnos.size() <= tamanio) {
+            return new PaginaResumen(alumnos, null);
+        }
+        List<AlumnoResumen> pagina = alumnos.subList(0, tamanio);
+        AlumnoResumen ultimo = pagina.get(tamanio - 1);
+        return new PaginaResumen(pagina, token(ultimo.getApellido(), ultimo.getNombre(),
+                                               ultimo.getCodigoAlumno()));
+    }
+    
+    static String token(String apellido, String nombre, String codigoAlumno) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream salida = new DataOutputStream(bytes);
+            salida.writeByte(VERSION);
+            salida.writeUTF(apellido);
+            salida.writeUTF(nombre);
+            salida.writeUTF(codigoAlumno);
+            salida.flush();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            // ByteArrayOutputStream no lanza IOException
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    static void validarTamanio(int tamanio) {
+        if (tamanio <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package src.repositorio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de escrituras (write-ahead log) de solo agregado, con confirmación en grupo
+ *
+ * Formato: cabecera (MAGIA, generación) seguida de registros
+ * [longitud][CRC32][datos]. Al abrirlo se descarta la cola incompleta o dañada
+ * que pudo dejar una caída a mitad de escritura.
+ *
+ * Confirmación en grupo: agregar() solo encola el registro y devuelve un
+ * número de orden. esperarDurable() lo espera: el primer hilo que llega escribe
+ * todos los registros pendientes (también los de otros hilos) y hace un único
+ * force(); los demás esperan a que termine y, si su registro ya quedó dentro de
+ * ese lote, no escriben nada. Así muchas escrituras concurrentes comparten un fsync.
+ *
+ * Si una escritura a disco falla, el diario queda inutilizable y todas las
+ * operaciones siguientes lanzan la misma IOException.
+ */
+class DiarioEscrituras {
+    
+    private static final int MAGIA = 0x44494152; // "DIAR"
+    private static final int TAMANIO_CABECERA = Integer.BYTES + Long.BYTES;
+    private static final int TAMANIO_MARCO = 2 * Integer.BYTES;
+    
+    private final FileChannel canal;
+    private long generacion;
+    
+    // Registros encolados y aún no escritos, y números de orden
+    private List<byte[]> pendientes = new ArrayList<>();
+    private long ultimoAgregado;
+    private long ultimoDurable;
+    private boolean escribiendo;
+    private IOException falla;
+    
+    // Métricas
+    private int registrosDesdeReinicio;
+    private long registrosEscritos;
+    private long sincronizaciones;
+    
+    DiarioEscrituras(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                                      StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANIO_CABECERA);
+        canal.read(cabecera, 0);
+        cabecera.flip();
+        if (cabecera.remaining() == TAMANIO_CABECERA && cabecera.getInt() == MAGIA) {
+            this.generacion = cabecera.getLong();
+            canal.position(canal.size());
+        } else {
+            reiniciar(0);
+        }
+    }
+    
+    /**
+     * Generación del diario: la instantánea con la misma generación lo precede
+     */
+    synchronized long generacion() {
+        return generacion;
+    }
+    
+    /**
+     * Lee los registros válidos y corta el archivo tras el último de ellos
+     */
+    synchronized List<byte[]> leerRegistros() throws IOException {
+        List<byte[]> registros = new ArrayList<>();
+        long posicion = TAMANIO_CABECERA;
+        ByteBuffer marco = ByteBuffer.allocate(TAMANIO_MARCO);
+        CRC32 crc = new CRC32();
+        
+        while (true) {
+            marco.clear();
+            if (leerCompleto(marco, posicion) < TAMANIO_MARCO) {
+                break;
+            }
+            marco.flip();
+            int longitud = marco.getInt();
+            int suma = marco.getInt();
+            if (longitud < 0 || posicion + TAMANIO_MARCO + longitud > canal.size()) {
+                break;
+            }
+            
+            ByteBuffer datos = ByteBuffer.allocate(longitud);
+            leerCompleto(datos, posicion + TAMANIO_MARCO);
+            crc.reset();
+            crc.update(datos.array());
+            if ((int) crc.getValue() != suma) {
+                break;
+            }
+            registros.add(datos.array());
+            posicion += TAMANIO_MARCO + longitud;
+        }
+        
+        canal.truncate(posicion);
+        canal.position(posicion);
+        registrosDesdeReinicio = registros.size();
+        return registros;
+    }
+    
+    /**
+     * Encola un registro y devuelve su número de orden (sin esperar al disco)
+     */
+    synchronized long agregar(byte[] registro) throws IOException {
+        verificarFalla();
+        pendientes.add(registro);
+        registrosDesdeReinicio++;
+        return ++ultimoAgregado;
+    }
+    
+    /**
+     * Número de orden del último registro encolado
+     */
+    synchronized long ultimoAgregado() {
+        return ultimoAgregado;
+    }
+    
+    /**
+     * Número de orden del último registro que ya está en disco
+     */
+    synchronized long ultimoDurable() {
+        return ultimoDurable;
+    }
+    
+    /**
+     * true si una escritura falló y el diario ya no acepta registros
+     */
+    synchronized boolean fallido() {
+        return falla != null;
+    }
+    
+    /**
+     * Bloquea hasta que el registro con ese número de orden esté en disco
+     */
+    void esperarDurable(long numero) throws IOException {
+        List<byte[]> lote;
+        long hasta;
+        synchronized (this) {
+            while (true) {
+                verificarFalla();
+                if (ultimoDurable >= numero) {
+                    return;
+                }
+                if (!escribiendo) {
+                    break;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Espera del diario interrumpida");
+                }
+            }
+            // Este hilo escribe el lote con todo lo pendiente
+            escribiendo = true;
+            lote = pendientes;
+            pendientes = new ArrayList<>();
+            hasta = ultimoAgregado;
+        }
+        
+        IOException error = null;
+        try {
+            escribirLote(lote);
+        } catch (IOException e) {
+            error = e;
+        }
+        
+        synchronized (this) {
+            escribiendo = false;
+            if (error != null) {
+                falla = error;
+            } else {
+                ultimoDurable = hasta;
+                registrosEscritos += lote.size();
+                sincronizaciones++;
+            }
+            notifyAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+    
+    /**
+     * Vacía el diario y lo marca con una nueva generación.
+     * Quien llama garantiza que no hay registros pendientes.
+     */
+    synchronized void reiniciar(long nuevaGeneracion) throws IOException {
+        verificarFalla();
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANIO_CABECERA);
+        cabecera.putInt(MAGIA).putLong(nuevaGeneracion).flip();
+        canal.truncate(0);
+        while (cabecera.hasRemaining()) {
+            canal.write(cabecera, cabecera.position());
+        }
+        canal.force(true);
+        canal.position(TAMANIO_CABECERA);
+        generacion = nuevaGeneracion;
+        registrosDesdeReinicio = 0;
+    }
+    
+    synchronized int registrosDesdeReinicio() {
+        return registrosDesdeReinicio;
+    }
+    
+    synchronized long registrosEscritos() {
+        return registrosEscritos;
+    }
+    
+    synchronized long sincronizaciones() {
+        return sincronizaciones;
+    }
+    
+    void cerrar() throws IOException {
+        canal.close();
+    }
+    
+    // Escribe los registros del lote en una sola operación y fuerza a disco.
+    // Solo un hilo a la vez llega aquí (escribiendo = true)
+    private void escribirLote(List<byte[]> lote) throws IOException {
+        if (lote.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        for (byte[] registro : lote) {
+            total += TAMANIO_MARCO + registro.length;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        CRC32 crc = new CRC32();
+        for (byte[] registro : lote) {
+            crc.reset();
+            crc.update(registro);
+            buffer.putInt(registro.length).putInt((int) crc.getValue()).put(registro);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        canal.force(false);
+    }
+    
+    private int leerCompleto(ByteBuffer destino, long posicion) throws IOException {
+        int leidos = 0;
+        while (destino.hasRemaining()) {
+            int n = canal.read(destino, posicion + leidos);
+            if (n < 0) {
+                break;
+            }
+            leidos += n;
+        }
+        return leidos;
+    }
+    
+    private void verificarFalla() throws IOException {
+        if (falla != null) {
+            throw new IOException("El diario quedó inutilizable tras un error de escritura", falla);
+        }
+    }
+}
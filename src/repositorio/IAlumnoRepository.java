@@ -1,7 +1,14 @@
 package src.repositorio;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import src.modelo.*;;;
 
 /**
@@ -34,6 +41,48 @@ public interface IAlumnoRepository {
      */
     boolean eliminar(String codigoAlumno);
     
+    /**
+     * Registra un alumno nuevo e indica por qué no se pudo, si fue un duplicado
+     * Las implementaciones con base de datos deberían hacerlo con un único INSERT
+     * y detectar el duplicado por las restricciones UNIQUE; esta versión por
+     * defecto confía en que guardar() rechace los duplicados y solo consulta
+     * cuál fue cuando falla
+     * @param alumno El alumno a registrar
+     * @return REGISTRADO, el duplicado encontrado o RECHAZADO
+     */
+    default ResultadoRegistro registrar(Alumno alumno) {
+        if (guardar(alumno)) {
+            return ResultadoRegistro.REGISTRADO;
+        }
+        if (alumno != null && existe(alumno.getCodigoAlumno())) {
+            return ResultadoRegistro.CODIGO_DUPLICADO;
+        }
+        if (alumno != null && existePorDNI(alumno.getDni())) {
+            return ResultadoRegistro.DNI_DUPLICADO;
+        }
+        return ResultadoRegistro.RECHAZADO;
+    }
+    
+    /**
+     * Guarda varios alumnos en una sola operación
+     * Las implementaciones con base de datos deberían agruparlos (batch); esta
+     * versión por defecto llama a guardar() para cada uno
+     * @param alumnos Alumnos a guardar
+     * @return Resultado de cada alumno, en el mismo orden
+     */
+    default List<Boolean> guardarLote(List<Alumno> alumnos) {
+        return alumnos.stream().map(this::guardar).collect(Collectors.toList());
+    }
+    
+    /**
+     * Actualiza varios alumnos en una sola operación
+     * @param alumnos Alumnos con los datos actualizados
+     * @return Resultado de cada alumno, en el mismo orden
+     */
+    default List<Boolean> actualizarLote(List<Alumno> alumnos) {
+        return alumnos.stream().map(this::actualizar).collect(Collectors.toList());
+    }
+    
     /**
      * Busca un alumno por su código
      * @param codigoAlumno El código del alumno a buscar
@@ -41,12 +90,51 @@ public interface IAlumnoRepository {
      */
     Optional<Alumno> buscarPorCodigo(String codigoAlumno);
     
+    /**
+     * Busca varios alumnos por su código en una sola operación
+     * Las implementaciones con base de datos deberían consultarlos juntos
+     * (WHERE codigo_alumno IN ...); esta versión por defecto llama a
+     * buscarPorCodigo() para cada uno
+     * @param codigos Códigos de los alumnos a buscar
+     * @return Mapa codigoAlumno -> alumno, solo con los que existen
+     */
+    default Map<String, Alumno> buscarPorCodigos(Collection<String> codigos) {
+        Map<String, Alumno> encontrados = new HashMap<>();
+        for (String codigo : codigos) {
+            buscarPorCodigo(codigo).ifPresent(a -> encontrados.put(codigo, a));
+        }
+        return encontrados;
+    }
+    
     /**
      * Obtiene todos los alumnos del repositorio
-     * @return Lista con todos los alumnos
+     * @return Lista con todos los alumnos (las implementaciones en memoria devuelven
+     *         una instantánea inmutable que no refleja escrituras posteriores)
      */
     List<Alumno> obtenerTodos();
     
+    /**
+     * Recorre todos los alumnos sin armar una lista completa
+     * El flujo puede mantener recursos abiertos (por ejemplo un ResultSet), por lo
+     * que debe cerrarse, idealmente con try-with-resources. Esta versión por
+     * defecto recorre obtenerTodos()
+     * @return Flujo de alumnos en el mismo orden que obtenerTodos(); si la
+     *         lectura falla a mitad del recorrido, el flujo lanza IllegalStateException
+     */
+    default Stream<Alumno> recorrerTodos() {
+        return obtenerTodos().stream();
+    }
+    
+    /**
+     * Entrega cada alumno al visitante y cierra el recorrido al terminar
+     * @param visitante Acción a aplicar a cada alumno
+     */
+    default void visitarTodos(Consumer<? super Alumno> visitante) {
+        try (Stream<Alumno> alumnos = recorrerTodos()) {
+            alumnos.forEach(visitante);
+        }
+    }
+    
     // Métodos de búsqueda avanzada
     
     /**
@@ -104,6 +192,110 @@ public interface IAlumnoRepository {
      */
     List<Alumno> obtenerEnRiesgoAcademico();
     
+    /**
+     * Obtiene los alumnos activos con mejor promedio
+     * @param limite Cantidad máxima de alumnos a devolver
+     * @return Lista ordenada por promedio descendente
+     */
+    default List<Alumno> obtenerMejoresPromedios(int limite) {
+        return buscarPorEstado("Activo").stream()
+                .filter(a -> "Activo".equals(a.getEstado()))
+                .sorted(Comparator.comparing(Alumno::getPromedio).reversed())
+                .limit(limite)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Busca alumnos de un estado cuyo promedio está en [minimo, maximo)
+     * @param estado Estado del alumno
+     * @param minimo Promedio mínimo (inclusive); Double.NEGATIVE_INFINITY sin límite
+     * @param maximo Promedio máximo (exclusive); Double.POSITIVE_INFINITY sin límite
+     * @return Lista ordenada por promedio ascendente
+     */
+    default List<Alumno> buscarPorRangoPromedio(String estado, double minimo, double maximo) {
+        return buscarPorEstado(estado).stream()
+                .filter(a -> a.getPromedio() >= minimo && a.getPromedio() < maximo)
+                .sorted(Comparator.comparing(Alumno::getPromedio))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Busca los alumnos que cumplen todos los criterios dados (los de un reporte)
+     * Las implementaciones deberían evaluarlos en el origen (un único WHERE o un
+     * índice); esta versión por defecto los aplica en una sola pasada sobre obtenerTodos()
+     * @param carrera Carrera, sin distinguir mayúsculas (null para no filtrar)
+     * @param estado Estado, sin distinguir mayúsculas (null para no filtrar)
+     * @param cicloMinimo Ciclo mínimo (0 para no filtrar)
+     * @param promedioMinimo Promedio mínimo (0 para no filtrar)
+     * @return Lista de alumnos en el mismo orden que obtenerTodos()
+     */
+    default List<Alumno> buscarPorCriterios(String carrera, String estado,
+                                            int cicloMinimo, double promedioMinimo) {
+        return obtenerTodos().stream()
+                .filter(a -> carrera == null || carrera.equalsIgnoreCase(a.getCarrera()))
+                .filter(a -> estado == null || estado.equalsIgnoreCase(a.getEstado()))
+                .filter(a -> a.getCiclo() >= cicloMinimo && a.getPromedio() >= promedioMinimo)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtiene una página de alumnos ordenados por (apellido, nombre, código),
+     * continuando después de la posición que indica el token
+     * Las implementaciones deberían buscar directamente la posición del cursor
+     * (índice ordenado o WHERE ... > ? LIMIT ?); esta versión ordena todos
+     * @param continuacion Token de la página anterior, o null para la primera
+     * @param tamanio Cantidad máxima de alumnos de la página
+     * @return Página con los alumnos y el token de la siguiente
+     * @throws IllegalArgumentException si el token o el tamaño no son válidos
+     */
+    default PaginaAlumnos obtenerPagina(String continuacion, int tamanio) {
+        CursorAlumno.validarTamanio(tamanio);
+        CursorAlumno cursor = CursorAlumno.desdeToken(continuacion);
+        List<Alumno> alumnos = obtenerTodos().stream()
+                .filter(a -> cursor == null || cursor.precedeA(a))
+                .sorted(CursorAlumno.ORDEN)
+                .limit(tamanio + 1L)
+                .collect(Collectors.toList());
+        return CursorAlumno.armarPagina(alumnos, tamanio);
+    }
+    
+    /**
+     * Igual que obtenerPagina, pero solo con las columnas de un listado
+     * Las implementaciones con base de datos deberían consultar solo esas
+     * columnas; esta versión por defecto resume la página completa
+     * @param continuacion Token de la página anterior, o null para la primera
+     * @param tamanio Cantidad máxima de alumnos de la página
+     * @return Página de resúmenes; el token es intercambiable con el de obtenerPagina
+     * @throws IllegalArgumentException si el token o el tamaño no son válidos
+     */
+    default PaginaResumen obtenerPaginaResumen(String continuacion, int tamanio) {
+        PaginaAlumnos pagina = obtenerPagina(continuacion, tamanio);
+        return new PaginaResumen(resumir(pagina.getAlumnos()), pagina.getSiguiente());
+    }
+    
+    /**
+     * Igual que buscarPorNombre, pero solo con las columnas de un listado
+     * @param termino Término de búsqueda
+     * @return Resúmenes de los alumnos que coinciden, en el mismo orden
+     */
+    default List<AlumnoResumen> buscarResumenPorNombre(String termino) {
+        return resumir(buscarPorNombre(termino));
+    }
+    
+    /**
+     * Obtiene las estadísticas generales del repositorio
+     * Las implementaciones deberían sobrescribirlo con contadores mantenidos
+     * en cada escritura; esta versión por defecto las calcula en una sola
+     * pasada sobre recorrerTodos()
+     * @return Estadísticas con totales por estado, alumnos en riesgo y
+     *         promedio general de los alumnos activos
+     */
+    default EstadisticasDTO obtenerEstadisticas() {
+        AcumuladorEstadisticas acumulador = new AcumuladorEstadisticas();
+        visitarTodos(acumulador::agregar);
+        return acumulador.resultado();
+    }
+    
     // Métodos de validación
     
     /**
@@ -133,4 +325,18 @@ public interface IAlumnoRepository {
      * @return Descripción de la fuente de datos
      */
     String obtenerFuenteDatos();
+    
+    /**
+     * Indica si el repositorio admite operaciones simultáneas desde varios hilos
+     * AlumnoRepositoryAsync no ejecuta en paralelo sobre un repositorio que no
+     * lo admite; por defecto se supone que no
+     * @return true si varios hilos pueden usarlo a la vez
+     */
+    default boolean seguroParaHilos() {
+        return false;
+    }
+    
+    private static List<AlumnoResumen> resumir(List<Alumno> alumnos) {
+        return alumnos.stream().map(AlumnoResumen::desde).collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package src.repositorio;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import src.modelo.*;
+
+/**
+ * Versión asíncrona de IAlumnoRepository
+ * Cada método inicia la operación y devuelve de inmediato; varias consultas
+ * independientes pueden así ejecutarse a la vez. Si la operación falla, el
+ * CompletableFuture termina con la excepción del repositorio
+ */
+public interface IAlumnoRepositoryAsync {
+    
+    // Operaciones de escritura
+    
+    CompletableFuture<Boolean> guardar(Alumno alumno);
+    
+    CompletableFuture<ResultadoRegistro> registrar(Alumno alumno);
+    
+    CompletableFuture<Boolean> actualizar(Alumno alumno);
+    
+    CompletableFuture<Boolean> eliminar(String codigoAlumno);
+    
+    // Búsquedas
+    
+    CompletableFuture<Optional<Alumno>> buscarPorCodigo(String codigoAlumno);
+    
+    CompletableFuture<Optional<Alumno>> buscarPorDNI(String dni);
+    
+    CompletableFuture<List<Alumno>> buscarPorNombre(String termino);
+    
+    CompletableFuture<List<AlumnoResumen>> buscarResumenPorNombre(String termino);
+    
+    CompletableFuture<List<Alumno>> buscarPorCarrera(String carrera);
+    
+    CompletableFuture<List<Alumno>> buscarPorEstado(String estado);
+    
+    CompletableFuture<List<Alumno>> buscarPorCriterios(String carrera, String estado,
+                                                       int cicloMinimo, double promedioMinimo);
+    
+    CompletableFuture<PaginaResumen> obtenerPaginaResumen(String continuacion, int tamanio);
+    
+    // Estadísticas y conteo
+    
+    CompletableFuture<Integer> contarTotal();
+    
+    CompletableFuture<Integer> contarPorEstado(String estado);
+    
+    CompletableFuture<List<Alumno>> obtenerEnRiesgoAcademico();
+    
+    CompletableFuture<EstadisticasDTO> obtenerEstadisticas();
+}
@@ -0,0 +1,149 @@
+package src.repositorio;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas para búsquedas por subcadena
+ *
+ * Cada texto se normaliza (minúsculas y sin tildes, como la colación de la
+ * tabla en MySQL, así "Pérez" y "perez" coinciden) y se descompone en todas sus subcadenas
+ * de 3 caracteres. Para cada trigrama se guarda la lista de claves que lo
+ * contienen. Una búsqueda intersecta las listas de los trigramas del término,
+ * empezando por la más corta, y confirma los candidatos con contains().
+ *
+ * Se usa desde AlumnoRepositoryMemoria y como índice auxiliar de
+ * AlumnoRepositoryMySQL, siempre con codigoAlumno como clave.
+ */
+public class IndiceTrigramas {
+    
+    private static final int LONGITUD = 3;
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    
+    private final Map<String, Set<String>> clavesPorTrigrama = new HashMap<>();
+    private final Map<String, String> textoPorClave = new HashMap<>();
+    
+    /**
+     * Indexa (o reindexa) el texto asociado a una clave
+     */
+    public synchronized void agregar(String clave, String texto) {
+        quitar(clave);
+        String normalizado = normalizar(texto);
+        textoPorClave.put(clave, normalizado);
+        for (String trigrama : trigramas(normalizado)) {
+            clavesPorTrigrama.computeIfAbsent(trigrama, t -> new HashSet<>()).add(clave);
+        }
+    }
+    
+    /**
+     * Retira una clave del índice
+     */
+    public synchronized void quitar(String clave) {
+        String texto = textoPorClave.remove(clave);
+        if (texto == null) {
+            return;
+        }
+        for (String trigrama : trigramas(texto)) {
+            Set<String> claves = clavesPorTrigrama.get(trigrama);
+            if (claves != null && claves.remove(clave) && claves.isEmpty()) {
+                clavesPorTrigrama.remove(trigrama);
+            }
+        }
+    }
+    
+    /**
+     * Busca las claves cuyo texto contiene el término (sin distinguir mayúsculas)
+     * @param termino Subcadena a buscar
+     * @return Claves que coinciden (conjunto nuevo, puede modificarse)
+     */
+    public synchronized Set<String> buscar(String termino) {
+        String buscado = normalizar(termino);
+        Set<String> resultado = new HashSet<>();
+        
+        // Términos más cortos que un trigrama: revisar todos los textos
+        if (buscado.length() < LONGITUD) {
+            textoPorClave.forEach((clave, texto) -> {
+                if (texto.contains(buscado)) {
+                    resultado.add(clave);
+                }
+            });
+            return resultado;
+        }
+        
+        List<Set<String>> listas = new ArrayList<>();
+        for (String trigrama : trigramas(buscado)) {
+            Set<String> claves = clavesPorTrigrama.get(trigrama);
+            if (claves == null) {
+                return resultado;
+            }
+            listas.add(claves);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+        
+        // Recorrer la lista más corta y confirmar en las demás
+        Set<String> masCorta = listas.get(0);
+        List<Set<String>> resto = listas.subList(1, listas.size());
+        for (String clave : masCorta) {
+            if (resto.stream().allMatch(l -> l.contains(clave)) &&
+                textoPorClave.get(clave).contains(buscado)) {
+                resultado.add(clave);
+            }
+        }
+        return resultado;
+    }
+    
+    /**
+     * Cantidad de claves indexadas
+     */
+    public synchronized int tamanio() {
+        return textoPorClave.size();
+    }
+    
+    /**
+     * Vacía el índice
+     */
+    public synchronized void limpiar() {
+        clavesPorTrigrama.clear();
+        textoPorClave.clear();
+    }
+    
+    /**
+     * Normalización aplicada a textos y términos de búsqueda: minúsculas y sin
+     * marcas diacríticas (tildes, diéresis, la virgulilla de la ñ)
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String minusculas = texto.toLowerCase();
+        // Los textos solo ASCII (la mayoría) no tienen nada que quitar
+        if (esAscii(minusculas)) {
+            return minusculas;
+        }
+        return MARCAS.matcher(Normalizer.normalize(minusculas, Normalizer.Form.NFD)).replaceAll("");
+    }
+    
+    private static boolean esAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + LONGITUD <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + LONGITUD));
+        }
+        return trigramas;
+    }
+}
@@ -0,0 +1,241 @@
+package src.repositorio;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lista inmutable y persistente, ordenada por una clave numérica
+ *
+ * Internamente es un treap (árbol binario de búsqueda por clave, montículo por
+ * prioridad) con el tamaño de cada subárbol. insertar() y quitar() no modifican
+ * la lista: devuelven una versión nueva que comparte con la anterior todos los
+ * nodos fuera del camino modificado (O(log n) nodos nuevos). Así, quien tenga una
+ * referencia a una versión la ve siempre igual, sin copias ni candados.
+ *
+ * Los repositorios en memoria la usan como instantánea de obtenerTodos(), con
+ * un número de secuencia de inserción como clave.
+ */
+final class ListaPersistente<E> extends AbstractList<E> {
+
+    private static final ListaPersistente<?> VACIA = new ListaPersistente<>(null);
+
+    private final Nodo<E> raiz;
+
+    private ListaPersistente(Nodo<E> raiz) {
+        this.raiz = raiz;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> ListaPersistente<E> vacia() {
+        return (ListaPersistente<E>) VACIA;
+    }
+
+    /**
+     * Devuelve una versión con el valor asociado a la clave (lo reemplaza si existía)
+     */
+    ListaPersistente<E> insertar(long clave, E valor) {
+        return new ListaPersistente<>(insertar(raiz, clave, valor, prioridad(clave)));
+    }
+
+    /**
+     * Devuelve una versión sin la clave (la misma lista si no existía)
+     */
+    ListaPersistente<E> quitar(long clave) {
+        Nodo<E> nuevaRaiz = quitar(raiz, clave);
+        return nuevaRaiz == raiz ? this : new ListaPersistente<>(nuevaRaiz);
+    }
+
+    /**
+     * Vista de esta versión que entrega copias de los valores (obtenida con la
+     * función dada) en cada lectura. Sirve para que quien lee no pueda
+     * modificar los valores que comparte la instantánea
+     */
+    List<E> copiando(UnaryOperator<E> copia) {
+        ListaPersistente<E> version = this;
+        return new AbstractList<E>() {
+            @Override
+            public E get(int indice) {
+                return copia.apply(version.get(indice));
+            }
+
+            @Override
+            public int size() {
+                return version.size();
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                Iterator<E> valores = version.iterator();
+                return new Iterator<E>() {
+                    @Override
+                    public boolean hasNext() {
+                        return valores.hasNext();
+                    }
+
+                    @Override
+                    public E next() {
+                        return copia.apply(valores.next());
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public E get(int indice) {
+        if (indice < 0 || indice >= size()) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", tamaño: " + size());
+        }
+        Nodo<E> nodo = raiz;
+        while (true) {
+            int izquierda = tamanio(nodo.izq);
+            if (indice < izquierda) {
+                nodo = nodo.izq;
+            } else if (indice == izquierda) {
+                return nodo.valor;
+            } else {
+                indice -= izquierda + 1;
+                nodo = nodo.der;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return tamanio(raiz);
+    }
+
+    // Recorrido en orden con una pila: O(n) en total
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final Deque<Nodo<E>> pila = new ArrayDeque<>();
+            {
+                bajarPorIzquierda(raiz);
+            }
+
+            private void bajarPorIzquierda(Nodo<E> nodo) {
+                for (; nodo != null; nodo = nodo.izq) {
+                    pila.push(nodo);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !pila.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (pila.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Nodo<E> nodo = pila.pop();
+                bajarPorIzquierda(nodo.der);
+                return nodo.valor;
+            }
+        };
+    }
+
+    // ==================== OPERACIONES SOBRE NODOS ====================
+
+    private static <E> Nodo<E> insertar(Nodo<E> nodo, long clave, E valor, int prioridad) {
+        if (nodo == null) {
+            return new Nodo<>(clave, valor, prioridad, null, null);
+        }
+        if (clave == nodo.clave) {
+            return new Nodo<>(clave, valor, prioridad, nodo.izq, nodo.der);
+        }
+        if (prioridad > nodo.prioridad) {
+            // La clave no puede estar más abajo: su prioridad sería menor
+            Nodo<E>[] partes = dividir(nodo, clave);
+            return new Nodo<>(clave, valor, prioridad, partes[0], partes[1]);
+        }
+        if (clave < nodo.clave) {
+            return new Nodo<>(nodo.clave, nodo.valor, nodo.prioridad,
+                              insertar(nodo.izq, clave, valor, prioridad), nodo.der);
+        }
+        return new Nodo<>(nodo.clave, nodo.valor, nodo.prioridad,
+                          nodo.izq, insertar(nodo.der, clave, valor, prioridad));
+    }
+
+    private static <E> Nodo<E> quitar(Nodo<E> nodo, long clave) {
+        if (nodo == null) {
+            return null;
+        }
+        if (clave == nodo.clave) {
+            return unir(nodo.izq, nodo.der);
+        }
+        if (clave < nodo.clave) {
+            Nodo<E> izq = quitar(nodo.izq, clave);
+            return izq == nodo.izq ? nodo
+                    : new Nodo<>(nodo.clave, nodo.valor, nodo.prioridad, izq, nodo.der);
+        }
+        Nodo<E> der = quitar(nodo.der, clave);
+        return der == nodo.der ? nodo
+                : new Nodo<>(nodo.clave, nodo.valor, nodo.prioridad, nodo.izq, der);
+    }
+
+    // Separa en {claves menores, claves mayores}; la clave no está en el árbol
+    @SuppressWarnings("unchecked")
+    private static <E> Nodo<E>[] dividir(Nodo<E> nodo, long clave) {
+        if (nodo == null) {
+            return (Nodo<E>[]) new Nodo<?>[2];
+        }
+        if (clave < nodo.clave) {
+            Nodo<E>[] partes = dividir(nodo.izq, clave);
+            partes[1] = new Nodo<>(nodo.clave, nodo.valor, nodo.prioridad, partes[1], nodo.der);
+            return partes;
+        }
+        Nodo<E>[] partes = dividir(nodo.der, clave);
+        partes[0] = new Nodo<>(nodo.clave, nodo.valor, nodo.prioridad, nodo.izq, partes[0]);
+        return partes;
+    }
+
+    // Une dos árboles donde todas las claves de a son menores que las de b
+    private static <E> Nodo<E> unir(Nodo<E> a, Nodo<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.prioridad > b.prioridad) {
+            return new Nodo<>(a.clave, a.valor, a.prioridad, a.izq, unir(a.der, b));
+        }
+        return new Nodo<>(b.clave, b.valor, b.prioridad, unir(a, b.izq), b.der);
+    }
+
+    private static int tamanio(Nodo<?> nodo) {
+        return nodo != null ? nodo.tamanio : 0;
+    }
+
+    // Prioridad pseudoaleatoria pero determinista para cada clave
+    private static int prioridad(long clave) {
+        long mezcla = clave * 0x9E3779B97F4A7C15L;
+        return (int) (mezcla ^ (mezcla >>> 32));
+    }
+
+    private static final class Nodo<E> {
+        private final long clave;
+        private final E valor;
+        private final int prioridad;
+        private final Nodo<E> izq;
+        private final Nodo<E> der;
+        private final int tamanio;
+
+        Nodo(long clave, E valor, int prioridad, Nodo<E> izq, Nodo<E> der) {
+            this.clave = clave;
+            this.valor = valor;
+            this.prioridad = prioridad;
+            this.izq = izq;
+            this.der = der;
+            this.tamanio = 1 + tamanio(izq) + tamanio(der);
+        }
+    }
+}
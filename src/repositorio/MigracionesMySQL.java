@@ -0,0 +1,315 @@
+package src.repositorio;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Migraciones versionadas del esquema MySQL
+ *
+ * La tabla esquema_version registra las migraciones aplicadas. Al iniciar, el
+ * repositorio llama a aplicar(), que ejecuta en orden las que faltan. Un candado
+ * con nombre (GET_LOCK) evita que dos instancias de la aplicación migren a la vez.
+ *
+ * En MySQL el DDL no es transaccional: si una migración falla a la mitad, no se
+ * registra y hay que corregir el esquema a mano antes de reintentarla.
+ *
+ * La versión 1 es el esquema del script original (ver AlumnoRepositoryMySQL) y
+ * se puede aplicar sobre una base creada con él. Las migraciones ya publicadas
+ * no se modifican: los cambios nuevos van en una versión nueva.
+ */
+final class MigracionesMySQL {
+    
+    private static final String CANDADO = "sideral_carreon_migraciones";
+    private static final int ESPERA_CANDADO_SEGUNDOS = 30;
+    
+    // Índices únicos: el mensaje de clave duplicada los nombra
+    static final String UNICO_CODIGO = "uq_codigo";
+    static final String UNICO_DNI = "uq_dni";
+    
+    // Filas de contadores de alumnos_estadisticas (ids 0 a FRANJAS_ESTADISTICAS - 1)
+    static final int FRANJAS_ESTADISTICAS = 16;
+    
+    private static final List<Migracion> MIGRACIONES = Arrays.asList(
+        new Migracion(1, "Esquema inicial: alumnos y estadísticas con triggers",
+            "CREATE TABLE IF NOT EXISTS alumnos (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "codigo_alumno VARCHAR(10) NOT NULL UNIQUE, " +
+            "nombre VARCHAR(100) NOT NULL, " +
+            "apellido VARCHAR(100) NOT NULL, " +
+            "dni VARCHAR(8) NOT NULL UNIQUE, " +
+            "fecha_nacimiento DATE, " +
+            "direccion VARCHAR(255), " +
+            "telefono VARCHAR(9), " +
+            "email VARCHAR(100) NOT NULL, " +
+            "carrera VARCHAR(100) NOT NULL, " +
+            "ciclo INT NOT NULL CHECK (ciclo BETWEEN 1 AND 12), " +
+            "promedio DECIMAL(4,2) NOT NULL CHECK (promedio BETWEEN 0 AND 20), " +
+            "estado ENUM('Activo', 'Inactivo', 'Egresado', 'Retirado') DEFAULT 'Activo', " +
+            "fecha_ingreso DATE NOT NULL, " +
+            "creditos_acumulados INT DEFAULT 0, " +
+            "fecha_registro TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+            "fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP, " +
+            "INDEX idx_codigo (codigo_alumno), " +
+            "INDEX idx_dni (dni), " +
+            "INDEX idx_carrera (carrera), " +
+            "INDEX idx_estado (estado), " +
+            "INDEX idx_estado_promedio (estado, promedio), " +
+            "INDEX idx_orden_alfabetico (apellido, nombre, codigo_alumno), " +
+            "INDEX idx_nombre (nombre, apellido)" +
+            ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci",
+            
+            "CREATE TABLE IF NOT EXISTS alumnos_estadisticas (" +
+            "id TINYINT PRIMARY KEY, " +
+            "total INT NOT NULL DEFAULT 0, " +
+            "activos INT NOT NULL DEFAULT 0, " +
+            "inactivos INT NOT NULL DEFAULT 0, " +
+            "egresados INT NOT NULL DEFAULT 0, " +
+            "en_riesgo INT NOT NULL DEFAULT 0, " +
+            "suma_promedio_activos DECIMAL(14,2) NOT NULL DEFAULT 0" +
+            ") ENGINE=InnoDB",
+            
+            "INSERT IGNORE INTO alumnos_estadisticas " +
+            "SELECT 1, COUNT(*), " +
+            "COALESCE(SUM(estado <=> 'Activo'), 0), " +
+            "COALESCE(SUM(estado <=> 'Inactivo'), 0), " +
+            "COALESCE(SUM(estado <=> 'Egresado'), 0), " +
+            "COALESCE(SUM(estado <=> 'Activo' AND promedio < 11.0), 0), " +
+            "COALESCE(SUM(IF(estado <=> 'Activo', promedio, 0)), 0) " +
+            "FROM alumnos",
+            
+            "DROP TRIGGER IF EXISTS trg_alumnos_estadisticas_ins",
+            "CREATE TRIGGER trg_alumnos_estadisticas_ins AFTER INSERT ON alumnos " +
+            "FOR EACH ROW UPDATE alumnos_estadisticas SET " +
+            "total = total + 1, " +
+            "activos = activos + (NEW.estado <=> 'Activo'), " +
+            "inactivos = inactivos + (NEW.estado <=> 'Inactivo'), " +
+            "egresados = egresados + (NEW.estado <=> 'Egresado'), " +
+            "en_riesgo = en_riesgo + (NEW.estado <=> 'Activo' AND NEW.promedio < 11.0), " +
+            "suma_promedio_activos = suma_promedio_activos + IF(NEW.estado <=> 'Activo', NEW.promedio, 0) " +
+            "WHERE id = 1",
+            
+            "DROP TRIGGER IF EXISTS trg_alumnos_estadisticas_upd",
+            "CREATE TRIGGER trg_alumnos_estadisticas_upd AFTER UPDATE ON alumnos " +
+            "FOR EACH ROW UPDATE alumnos_estadisticas SET " +
+            "activos = activos + (NEW.estado <=> 'Activo') - (OLD.estado <=> 'Activo'), " +
+            "inactivos = inactivos + (NEW.estado <=> 'Inactivo') - (OLD.estado <=> 'Inactivo'), " +
+            "egresados = egresados + (NEW.estado <=> 'Egresado') - (OLD.estado <=> 'Egresado'), " +
+            "en_riesgo = en_riesgo + (NEW.estado <=> 'Activo' AND NEW.promedio < 11.0) " +
+            "- (OLD.estado <=> 'Activo' AND OLD.promedio < 11.0), " +
+            "suma_promedio_activos = suma_promedio_activos + IF(NEW.estado <=> 'Activo', NEW.promedio, 0) " +
+            "- IF(OLD.estado <=> 'Activo', OLD.promedio, 0) " +
+            "WHERE id = 1",
+            
+            "DROP TRIGGER IF EXISTS trg_alumnos_estadisticas_del",
+            "CREATE TRIGGER trg_alumnos_estadisticas_del AFTER DELETE ON alumnos " +
+            "FOR EACH ROW UPDATE alumnos_estadisticas SET " +
+            "total = total - 1, " +
+            "activos = activos - (OLD.estado <=> 'Activo'), " +
+            "inactivos = inactivos - (OLD.estado <=> 'Inactivo'), " +
+            "egresados = egresados - (OLD.estado <=> 'Egresado'), " +
+            "en_riesgo = en_riesgo - (OLD.estado <=> 'Activo' AND OLD.promedio < 11.0), " +
+            "suma_promedio_activos = suma_promedio_activos - IF(OLD.estado <=> 'Activo', OLD.promedio, 0) " +
+            "WHERE id = 1"),
+        
+        // Las consultas comparan carrera, estado y nombres sin LOWER(): la
+        // colación _ci ya ignora mayúsculas y así se pueden usar los índices
+        new Migracion(2, "Colación sin distinción de mayúsculas e índices compuestos",
+            "ALTER TABLE alumnos CONVERT TO CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci",
+            
+            // idx_codigo e idx_dni repetían los índices UNIQUE; idx_carrera es
+            // prefijo de idx_carrera_orden. idx_estado se quita en la versión 5,
+            // cuando ya existe idx_estado_promedio
+            "ALTER TABLE alumnos " +
+            "DROP INDEX idx_codigo, " +
+            "DROP INDEX idx_dni, " +
+            "DROP INDEX idx_carrera, " +
+            "RENAME INDEX dni TO uq_dni, " +
+            "ADD INDEX idx_carrera_orden (carrera, apellido, nombre)"),
+        
+        // El registro detecta los duplicados por el nombre del índice violado
+        new Migracion(3, "Nombre explícito para el índice único del código",
+            "ALTER TABLE alumnos RENAME INDEX codigo_alumno TO " + UNICO_CODIGO),
+        
+        // Con una sola fila, toda escritura concurrente esperaba el bloqueo de
+        // id = 1 hasta el commit. Cada conexión suma ahora en su franja
+        // (CONNECTION_ID() % FRANJAS_ESTADISTICAS) y la lectura suma las filas.
+        // La fila 1 conserva los totales acumulados hasta ahora. Si otra instancia
+        // escribe justo mientras se reemplazan los triggers, recalcularEstadisticas()
+        // corrige los totales
+        new Migracion(4, "Contadores de estadísticas repartidos en franjas",
+            "INSERT IGNORE INTO alumnos_estadisticas (id) VALUES " + filasFranjas(),
+            
+            "DROP TRIGGER IF EXISTS trg_alumnos_estadisticas_ins",
+            "CREATE TRIGGER trg_alumnos_estadisticas_ins AFTER INSERT ON alumnos " +
+            "FOR EACH ROW UPDATE alumnos_estadisticas SET " +
+            "total = total + 1, " +
+            "activos = activos + (NEW.estado <=> 'Activo'), " +
+            "inactivos = inactivos + (NEW.estado <=> 'Inactivo'), " +
+            "egresados = egresados + (NEW.estado <=> 'Egresado'), " +
+            "en_riesgo = en_riesgo + (NEW.estado <=> 'Activo' AND NEW.promedio < 11.0), " +
+            "suma_promedio_activos = suma_promedio_activos + IF(NEW.estado <=> 'Activo', NEW.promedio, 0) " +
+            "WHERE id = CONNECTION_ID() % " + FRANJAS_ESTADISTICAS,
+            
+            "DROP TRIGGER IF EXISTS trg_alumnos_estadisticas_upd",
+            "CREATE TRIGGER trg_alumnos_estadisticas_upd AFTER UPDATE ON alumnos " +
+            "FOR EACH ROW UPDATE alumnos_estadisticas SET " +
+            "activos = activos + (NEW.estado <=> 'Activo') - (OLD.estado <=> 'Activo'), " +
+            "inactivos = inactivos + (NEW.estado <=> 'Inactivo') - (OLD.estado <=> 'Inactivo'), " +
+            "egresados = egresados + (NEW.estado <=> 'Egresado') - (OLD.estado <=> 'Egresado'), " +
+            "en_riesgo = en_riesgo + (NEW.estado <=> 'Activo' AND NEW.promedio < 11.0) " +
+            "- (OLD.estado <=> 'Activo' AND OLD.promedio < 11.0), " +
+            "suma_promedio_activos = suma_promedio_activos + IF(NEW.estado <=> 'Activo', NEW.promedio, 0) " +
+            "- IF(OLD.estado <=> 'Activo', OLD.promedio, 0) " +
+            "WHERE id = CONNECTION_ID() % " + FRANJAS_ESTADISTICAS,
+            
+            "DROP TRIGGER IF EXISTS trg_alumnos_estadisticas_del",
+            "CREATE TRIGGER trg_alumnos_estadisticas_del AFTER DELETE ON alumnos " +
+            "FOR EACH ROW UPDATE alumnos_estadisticas SET " +
+            "total = total - 1, " +
+            "activos = activos - (OLD.estado <=> 'Activo'), " +
+            "inactivos = inactivos - (OLD.estado <=> 'Inactivo'), " +
+            "egresados = egresados - (OLD.estado <=> 'Egresado'), " +
+            "en_riesgo = en_riesgo - (OLD.estado <=> 'Activo' AND OLD.promedio < 11.0), " +
+            "suma_promedio_activos = suma_promedio_activos - IF(OLD.estado <=> 'Activo', OLD.promedio, 0) " +
+            "WHERE id = CONNECTION_ID() % " + FRANJAS_ESTADISTICAS),
+        
+        // En una base creada con el script original la versión 1 no hizo nada
+        // (IF NOT EXISTS) y faltan los índices compuestos de los que dependen
+        // las consultas (ver VerificacionIndicesMySQL). Se crean solo si faltan
+        // y después se quita idx_estado, prefijo de idx_estado_promedio
+        new Migracion(5, "Índices compuestos en bases creadas con el script original",
+            (conn, stmt) -> agregarIndiceSiFalta(conn, stmt, "idx_estado_promedio", "estado, promedio"),
+            (conn, stmt) -> agregarIndiceSiFalta(conn, stmt, "idx_orden_alfabetico",
+                                                 "apellido, nombre, codigo_alumno"),
+            (conn, stmt) -> {
+                if (existeIndice(conn, "idx_estado_promedio") && existeIndice(conn, "idx_estado")) {
+                    stmt.execute("ALTER TABLE alumnos DROP INDEX idx_estado");
+                }
+            })
+    );
+    
+    private MigracionesMySQL() {
+    }
+    
+    /**
+     * Lista "(0), (1), ..." con un id por franja de alumnos_estadisticas
+     */
+    static String filasFranjas() {
+        StringBuilder filas = new StringBuilder();
+        for (int id = 0; id < FRANJAS_ESTADISTICAS; id++) {
+            filas.append(id > 0 ? ", (" : "(").append(id).append(')');
+        }
+        return filas.toString();
+    }
+    
+    /**
+     * Aplica las migraciones pendientes
+     * @return Versión del esquema tras aplicarlas
+     */
+    static int aplicar(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS esquema_version (" +
+                               "version INT PRIMARY KEY, " +
+                               "descripcion VARCHAR(200) NOT NULL, " +
+                               "aplicada_en TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                               ") ENGINE=InnoDB");
+            
+            if (!tomarCandado(stmt)) {
+                throw new SQLException("Otra instancia está migrando el esquema");
+            }
+            try {
+                int version = versionActual(stmt);
+                for (Migracion migracion : MIGRACIONES) {
+                    if (migracion.version > version) {
+                        migracion.aplicar(conn, stmt);
+                        version = migracion.version;
+                        System.out.println("✓ Esquema migrado a la versión " + version +
+                                           ": " + migracion.descripcion);
+                    }
+                }
+                return version;
+            } finally {
+                stmt.execute("DO RELEASE_LOCK('" + CANDADO + "')");
+            }
+        }
+    }
+    
+    // Consulta information_schema: true si la tabla alumnos tiene ese índice
+    static boolean existeIndice(Connection conn, String indice) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.STATISTICS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'alumnos' " +
+                    "AND INDEX_NAME = ? LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, indice);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+    
+    private static void agregarIndiceSiFalta(Connection conn, Statement stmt, String indice,
+                                             String columnas) throws SQLException {
+        if (!existeIndice(conn, indice)) {
+            stmt.execute("ALTER TABLE alumnos ADD INDEX " + indice + " (" + columnas + ")");
+        }
+    }
+    
+    private static boolean tomarCandado(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT GET_LOCK('" + CANDADO + "', " +
+                                              ESPERA_CANDADO_SEGUNDOS + ")")) {
+            return rs.next() && rs.getInt(1) == 1;
+        }
+    }
+    
+    private static int versionActual(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM esquema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    /**
+     * Paso de una migración que necesita revisar el esquema antes de cambiarlo
+     */
+    @FunctionalInterface
+    private interface Paso {
+        void ejecutar(Connection conn, Statement stmt) throws SQLException;
+    }
+    
+    /**
+     * Una versión del esquema: sus pasos se ejecutan en orden
+     */
+    private static final class Migracion {
+        private final int version;
+        private final String descripcion;
+        private final Paso[] pasos;
+        
+        Migracion(int version, String descripcion, Paso... pasos) {
+            this.version = version;
+            this.descripcion = descripcion;
+            this.pasos = pasos;
+        }
+        
+        Migracion(int version, String descripcion, String... sentencias) {
+            this(version, descripcion, Arrays.stream(sentencias)
+                    .map(sql -> (Paso) (conn, stmt) -> stmt.execute(sql))
+                    .toArray(Paso[]::new));
+        }
+        
+        void aplicar(Connection conn, Statement stmt) throws SQLException {
+            for (Paso paso : pasos) {
+                paso.ejecutar(conn, stmt);
+            }
+            try (PreparedStatement registro = conn.prepareStatement(
+                    "INSERT INTO esquema_version (version, descripcion) VALUES (?, ?)")) {
+                registro.setInt(1, version);
+                registro.setString(2, descripcion);
+                registro.executeUpdate();
+            }
+        }
+    }
+}
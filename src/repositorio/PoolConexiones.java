@@ -0,0 +1,484 @@
+package src.repositorio;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import src.modelo.MetricasPool;
+
+/**
+ * Pool acotado de conexiones JDBC
+ *
+ * obtener() entrega una conexión envuelta: al cerrarla (try-with-resources) no
+ * se cierra la conexión física, sino que vuelve al pool. Como mucho hay
+ * tamanioMaximo conexiones prestadas; si no hay ninguna libre, se espera hasta
+ * ESPERA_MAXIMA_MS y luego se lanza SQLTimeoutException.
+ *
+ * - Validación: una conexión que estuvo inactiva más de VALIDAR_TRAS_MS se
+ *   prueba con isValid() antes de entregarla; si falla, se descarta.
+ * - Vida máxima: las conexiones con más de VIDA_MAXIMA_MS se cierran al
+ *   devolverse o al salir del pool, para no chocar con wait_timeout del servidor.
+ * - Fugas: un hilo de fondo avisa (con el hilo que la pidió) cuando una
+ *   conexión lleva más de FUGA_MS prestada. La traza de dónde se pidió solo se
+ *   guarda con -Dpool.trazaFugas=true, porque capturarla en cada préstamo cuesta.
+ * - Al devolverse, una conexión con autocommit desactivado se deshace y se
+ *   restablece, para que el siguiente usuario no herede una transacción.
+ *
+ * Cada conexión física guarda además un caché LRU de PreparedStatement por
+ * texto SQL: prepareStatement(sql) devuelve la sentencia ya preparada si está
+ * libre, y su close() solo limpia los parámetros y la deja en el caché. Con
+ * useServerPrepStmts=true el servidor conserva el plan, así que una sentencia
+ * repetida solo envía los parámetros. Las consultas cuyo texto depende de los
+ * datos (listas IN, filtros opcionales) deben prepararse con
+ * prepareStatement(sql, tipo, concurrencia), que no pasa por el caché, para no
+ * desalojar a las que se repiten.
+ */
+class PoolConexiones {
+    
+    private static final long ESPERA_MAXIMA_MS = 5_000;
+    private static final long VALIDAR_TRAS_MS = 30_000;
+    private static final int VALIDACION_SEGUNDOS = 2;
+    private static final long VIDA_MAXIMA_MS = 30 * 60_000;
+    private static final long FUGA_MS = 60_000;
+    private static final long REVISION_FUGAS_MS = 10_000;
+    private static final int SENTENCIAS_POR_CONEXION = 64;
+    private static final boolean TRAZA_FUGAS = Boolean.getBoolean("pool.trazaFugas");
+    
+    private final String url;
+    private final String usuario;
+    private final String clave;
+    private final int tamanioMaximo;
+    
+    // Un permiso por conexión que se puede prestar; las inactivas se reutilizan
+    // en orden LIFO para que las menos usadas envejezcan y se descarten
+    private final Semaphore permisos;
+    private final Deque<ConexionFisica> inactivas = new ArrayDeque<>();
+    private final Map<ConexionPrestada, Boolean> prestadas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService revisorFugas;
+    
+    // Métricas
+    private final AtomicLong prestamos = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+    private final AtomicLong tiemposAgotados = new AtomicLong();
+    private final AtomicLong creadas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicLong fugasDetectadas = new AtomicLong();
+    private final AtomicLong sentenciasReutilizadas = new AtomicLong();
+    private final AtomicLong sentenciasPreparadas = new AtomicLong();
+    private final AtomicLong sentenciasDesalojadas = new AtomicLong();
+    
+    PoolConexiones(String url, String usuario, String clave, int tamanioMaximo) {
+        this.url = url;
+        this.usuario = usuario;
+        this.clave = clave;
+        this.tamanioMaximo = tamanioMaximo;
+        this.permisos = new Semaphore(tamanioMaximo, true);
+        this.revisorFugas = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "pool-conexiones-fugas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        revisorFugas.scheduleAtFixedRate(this::revisarFugas, REVISION_FUGAS_MS,
+                                         REVISION_FUGAS_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Presta una conexión; se devuelve al pool con close()
+     * @throws SQLTimeoutException si no se libera ninguna en ESPERA_MAXIMA_MS
+     */
+    Connection obtener() throws SQLException {
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(ESPERA_MAXIMA_MS, TimeUnit.MILLISECONDS)) {
+                tiemposAgotados.incrementAndGet();
+                throw new SQLTimeoutException("No se liberó ninguna conexión del pool en " +
+                                              ESPERA_MAXIMA_MS + " ms (máximo " + tamanioMaximo + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Espera de conexión interrumpida", e);
+        }
+        
+        ConexionFisica fisica;
+        try {
+            fisica = tomarInactivaValida();
+            if (fisica == null) {
+                fisica = new ConexionFisica(DriverManager.getConnection(url, usuario, clave));
+                creadas.incrementAndGet();
+            }
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+        
+        long espera = System.nanoTime() - inicio;
+        prestamos.incrementAndGet();
+        esperaTotalNanos.addAndGet(espera);
+        esperaMaximaNanos.accumulateAndGet(espera, Math::max);
+        
+        ConexionPrestada prestada = new ConexionPrestada(fisica);
+        prestadas.put(prestada, Boolean.TRUE);
+        return (Connection) Proxy.newProxyInstance(PoolConexiones.class.getClassLoader(),
+                                                   new Class<?>[] { Connection.class }, prestada);
+    }
+    
+    MetricasPool metricas() {
+        int libres;
+        synchronized (inactivas) {
+            libres = inactivas.size();
+        }
+        long total = prestamos.get();
+        double esperaPromedioMs = total > 0 ? esperaTotalNanos.get() / 1e6 / total : 0.0;
+        return new MetricasPool(prestadas.size(), libres, tamanioMaximo, total,
+                                esperaPromedioMs, esperaMaximaNanos.get() / 1e6,
+                                tiemposAgotados.get(), creadas.get(), descartadas.get(),
+                                fugasDetectadas.get(), sentenciasReutilizadas.get(),
+                                sentenciasPreparadas.get(), sentenciasDesalojadas.get());
+    }
+    
+    /**
+     * Cierra las conexiones inactivas y detiene el revisor de fugas.
+     * Las prestadas se cierran al devolverse.
+     */
+    void cerrar() {
+        revisorFugas.shutdownNow();
+        synchronized (inactivas) {
+            for (ConexionFisica fisica : inactivas) {
+                fisica.cerrar();
+            }
+            inactivas.clear();
+        }
+    }
+    
+    // Saca del pool la conexión inactiva más reciente que siga siendo válida,
+    // descartando las vencidas o rotas; null si no queda ninguna
+    private ConexionFisica tomarInactivaValida() {
+        while (true) {
+            ConexionFisica fisica;
+            synchronized (inactivas) {
+                fisica = inactivas.pollFirst();
+            }
+            if (fisica == null) {
+                return null;
+            }
+            if (!fisica.vencida() && (!fisica.inactivaDesdeHace(VALIDAR_TRAS_MS) || fisica.valida())) {
+                return fisica;
+            }
+            descartar(fisica);
+        }
+    }
+    
+    // Recibe una conexión devuelta: la guarda para reutilizarla o la descarta
+    private void devolver(ConexionPrestada prestada) {
+        prestadas.remove(prestada);
+        ConexionFisica fisica = prestada.fisica;
+        try {
+            fisica.recuperarSentencias();
+            if (fisica.vencida() || !fisica.restablecer()) {
+                descartar(fisica);
+            } else {
+                fisica.ultimoUso = System.currentTimeMillis();
+                synchronized (inactivas) {
+                    inactivas.addFirst(fisica);
+                }
+            }
+        } finally {
+            permisos.release();
+        }
+    }
+    
+    private void descartar(ConexionFisica fisica) {
+        descartadas.incrementAndGet();
+        fisica.cerrar();
+    }
+    
+    private void revisarFugas() {
+        long ahora = System.currentTimeMillis();
+        for (ConexionPrestada prestada : prestadas.keySet()) {
+            if (!prestada.avisada && ahora - prestada.prestadaEn > FUGA_MS) {
+                prestada.avisada = true;
+                fugasDetectadas.incrementAndGet();
+                System.err.println("Posible fuga: conexión prestada hace " +
+                                   (ahora - prestada.prestadaEn) + " ms al hilo " +
+                                   prestada.hilo + " sin devolverse");
+                if (prestada.origen != null) {
+                    prestada.origen.printStackTrace();
+                } else {
+                    System.err.println("(inicie con -Dpool.trazaFugas=true para ver dónde se pidió)");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Conexión física con sus tiempos de creación y último uso, y su caché de
+     * sentencias. Solo la usa el hilo que la tiene prestada
+     */
+    private final class ConexionFisica {
+        private final Connection conexion;
+        private final long creadaEn;
+        private volatile long ultimoUso;
+        
+        // Texto SQL -> sentencia preparada, en orden de uso (LRU)
+        private final Map<String, SentenciaCacheada> sentencias =
+                new LinkedHashMap<String, SentenciaCacheada>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, SentenciaCacheada> mayor) {
+                        if (size() <= SENTENCIAS_POR_CONEXION) {
+                            return false;
+                        }
+                        sentenciasDesalojadas.incrementAndGet();
+                        SentenciaCacheada desalojada = mayor.getValue();
+                        desalojada.enCache = false;
+                        if (!desalojada.enUso) {
+                            desalojada.cerrar();
+                        }
+                        return true;
+                    }
+                };
+        
+        ConexionFisica(Connection conexion) {
+            this.conexion = conexion;
+            this.creadaEn = System.currentTimeMillis();
+            this.ultimoUso = creadaEn;
+        }
+        
+        // Sentencia del caché si está libre; si no, prepara una nueva. Si la del
+        // caché está en uso (la misma consulta anidada), la nueva no se guarda
+        SentenciaCacheada preparar(String sql) throws SQLException {
+            SentenciaCacheada sentencia = sentencias.get(sql);
+            if (sentencia != null && !sentencia.enUso) {
+                sentenciasReutilizadas.incrementAndGet();
+            } else {
+                sentenciasPreparadas.incrementAndGet();
+                boolean guardar = sentencia == null;
+                sentencia = new SentenciaCacheada(conexion.prepareStatement(sql), guardar);
+                if (guardar) {
+                    sentencias.put(sql, sentencia);
+                }
+            }
+            sentencia.enUso = true;
+            return sentencia;
+        }
+        
+        // Cierra las sentencias que quien devolvió la conexión no cerró
+        void recuperarSentencias() {
+            sentencias.values().removeIf(s -> {
+                if (s.enUso) {
+                    s.cerrar();
+                    return true;
+                }
+                return false;
+            });
+        }
+        
+        boolean vencida() {
+            return System.currentTimeMillis() - creadaEn > VIDA_MAXIMA_MS;
+        }
+        
+        boolean inactivaDesdeHace(long milisegundos) {
+            return System.currentTimeMillis() - ultimoUso > milisegundos;
+        }
+        
+        boolean valida() {
+            try {
+                return conexion.isValid(VALIDACION_SEGUNDOS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+        
+        // Deshace una transacción abierta y restablece el autocommit;
+        // false si la conexión ya no sirve
+        boolean restablecer() {
+            try {
+                if (conexion.isClosed()) {
+                    return false;
+                }
+                if (!conexion.getAutoCommit()) {
+                    conexion.rollback();
+                    conexion.setAutoCommit(true);
+                }
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+        
+        void cerrar() {
+            try {
+                conexion.close();
+            } catch (SQLException e) {
+                System.err.println("Error al cerrar conexión: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * PreparedStatement real y su estado en el caché de la conexión
+     */
+    private static final class SentenciaCacheada {
+        private final PreparedStatement sentencia;
+        private boolean enCache;
+        private boolean enUso;
+        
+        SentenciaCacheada(PreparedStatement sentencia, boolean enCache) {
+            this.sentencia = sentencia;
+            this.enCache = enCache;
+        }
+        
+        // Deja la sentencia lista para el próximo uso, o la cierra si ya no
+        // está en el caché o no se pudo limpiar
+        void liberar() {
+            enUso = false;
+            if (enCache) {
+                try {
+                    ResultSet abierto = sentencia.getResultSet();
+                    if (abierto != null) {
+                        abierto.close();
+                    }
+                    sentencia.clearParameters();
+                    sentencia.clearBatch();
+                    return;
+                } catch (SQLException e) {
+                    enCache = false;
+                }
+            }
+            cerrar();
+        }
+        
+        void cerrar() {
+            try {
+                sentencia.close();
+            } catch (SQLException e) {
+                System.err.println("Error al cerrar sentencia: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Vista prestada de una sentencia del caché: close() la libera
+     */
+    private static final class SentenciaPrestada implements InvocationHandler {
+        private final SentenciaCacheada cacheada;
+        private final Connection conexion;
+        private boolean cerrada;
+        
+        SentenciaPrestada(SentenciaCacheada cacheada, Connection conexion) {
+            this.cacheada = cacheada;
+            this.conexion = conexion;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (!cerrada) {
+                        cerrada = true;
+                        cacheada.liberar();
+                    }
+                    return null;
+                case "isClosed":
+                    return cerrada || cacheada.sentencia.isClosed();
+                case "getConnection":
+                    return conexion;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SentenciaPrestada[" + cacheada.sentencia + "]";
+                default:
+                    break;
+            }
+            if (cerrada) {
+                throw new SQLException("La sentencia ya fue cerrada");
+            }
+            try {
+                return metodo.invoke(cacheada.sentencia, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+    
+    /**
+     * Vista prestada de una conexión física: close() la devuelve al pool y
+     * después de eso la vista ya no se puede usar
+     */
+    private final class ConexionPrestada implements InvocationHandler {
+        private final ConexionFisica fisica;
+        private final long prestadaEn = System.currentTimeMillis();
+        // Quién y dónde la pidió, para el aviso de fuga (la traza, solo si se activó)
+        private final String hilo = Thread.currentThread().toString();
+        private final Exception origen = TRAZA_FUGAS ? new Exception("Conexión obtenida aquí") : null;
+        private volatile boolean avisada;
+        private boolean devuelta;
+        
+        ConexionPrestada(ConexionFisica fisica) {
+            this.fisica = fisica;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    synchronized (this) {
+                        if (devuelta) {
+                            return null;
+                        }
+                        devuelta = true;
+                    }
+                    devolver(this);
+                    return null;
+                case "isClosed":
+                    synchronized (this) {
+                        return devuelta || fisica.conexion.isClosed();
+                    }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPrestada[" + fisica.conexion + "]";
+                default:
+                    break;
+            }
+            synchronized (this) {
+                if (devuelta) {
+                    throw new SQLException("La conexión ya fue devuelta al pool");
+                }
+            }
+            // Solo prepareStatement(sql) pasa por el caché; las variantes con
+            // opciones de cursor (recorridos por streaming) se preparan aparte
+            if (metodo.getName().equals("prepareStatement") && args.length == 1) {
+                SentenciaCacheada cacheada = fisica.preparar((String) args[0]);
+                return Proxy.newProxyInstance(PoolConexiones.class.getClassLoader(),
+                                              new Class<?>[] { PreparedStatement.class },
+                                              new SentenciaPrestada(cacheada, (Connection) proxy));
+            }
+            try {
+                return metodo.invoke(fisica.conexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
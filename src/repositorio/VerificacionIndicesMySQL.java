@@ -0,0 +1,123 @@
+package src.repositorio;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Verifica con EXPLAIN que las consultas de AlumnoRepositoryMySQL pueden usar
+ * los índices compuestos del esquema (migraciones 2 y 5)
+ *
+ * Uso: java src.repositorio.VerificacionIndicesMySQL (con el conector de MySQL
+ * en el classpath). Muestra el plan de cada consulta y termina con código 1 si
+ * el índice esperado no existe o no es aplicable a alguna de ellas.
+ *
+ * Con pocas filas el optimizador puede preferir recorrer la tabla aunque el
+ * índice exista; eso, y un "Using filesort" donde el índice ya da el orden, se
+ * informan como advertencia y no cuentan como falla.
+ */
+public final class VerificacionIndicesMySQL {
+    
+    private static final List<Consulta> CONSULTAS = Arrays.asList(
+        new Consulta("buscarPorCarrera", AlumnoRepositoryMySQL.SQL_POR_CARRERA,
+                     "idx_carrera_orden", true, "Ingeniería de Sistemas"),
+        new Consulta("buscarPorEstado", AlumnoRepositoryMySQL.SQL_POR_ESTADO,
+                     "idx_estado_promedio", false, "Activo"),
+        new Consulta("contarPorEstado", AlumnoRepositoryMySQL.SQL_CONTAR_POR_ESTADO,
+                     "idx_estado_promedio", true, "Activo"),
+        new Consulta("obtenerEnRiesgoAcademico", AlumnoRepositoryMySQL.SQL_EN_RIESGO,
+                     "idx_estado_promedio", true),
+        new Consulta("obtenerMejoresPromedios", AlumnoRepositoryMySQL.SQL_MEJORES_PROMEDIOS,
+                     "idx_estado_promedio", true, 10),
+        new Consulta("buscarPorRangoPromedio", AlumnoRepositoryMySQL.sqlRangoPromedio(true, true),
+                     "idx_estado_promedio", true, "Activo", 11.0, 14.0),
+        new Consulta("obtenerPagina (primera)", AlumnoRepositoryMySQL.sqlPagina("*", false),
+                     "idx_orden_alfabetico", true, 21),
+        new Consulta("obtenerPagina (siguiente)", AlumnoRepositoryMySQL.sqlPagina("*", true),
+                     "idx_orden_alfabetico", true, "García", "María", "2021002", 21)
+    );
+    
+    private VerificacionIndicesMySQL() {
+    }
+    
+    public static void main(String[] args) {
+        AlumnoRepositoryMySQL repositorio = AlumnoRepositoryMySQL.getInstancia();
+        int fallas = 0;
+        
+        try (Connection conn = repositorio.getConexion()) {
+            for (Consulta consulta : CONSULTAS) {
+                if (!consulta.verificar(conn)) {
+                    fallas++;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al verificar índices: " + e.getMessage());
+            fallas++;
+        } finally {
+            repositorio.cerrarPool();
+        }
+        
+        System.out.println(fallas == 0 ? "✓ Todas las consultas pueden usar su índice"
+                                       : "✗ Consultas sin su índice: " + fallas);
+        System.exit(fallas == 0 ? 0 : 1);
+    }
+    
+    /**
+     * Consulta a revisar, con parámetros de ejemplo y el índice que debería usar
+     */
+    private static final class Consulta {
+        private final String nombre;
+        private final String sql;
+        private final String indice;
+        // El índice también da el orden del ORDER BY (no debería haber filesort)
+        private final boolean indiceOrdena;
+        private final Object[] parametros;
+        
+        Consulta(String nombre, String sql, String indice, boolean indiceOrdena, Object... parametros) {
+            this.nombre = nombre;
+            this.sql = sql;
+            this.indice = indice;
+            this.indiceOrdena = indiceOrdena;
+            this.parametros = parametros;
+        }
+        
+        // Muestra el plan; false si el índice esperado no está entre los posibles ni en uso
+        boolean verificar(Connection conn) throws SQLException {
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parametros.length; i++) {
+                    stmt.setObject(i + 1, parametros[i]);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        System.out.println("✗ " + nombre + ": EXPLAIN sin filas");
+                        return false;
+                    }
+                    String usado = rs.getString("key");
+                    String posibles = rs.getString("possible_keys");
+                    String extra = rs.getString("Extra");
+                    System.out.println(String.format("%s %s%n    type=%s key=%s possible_keys=%s rows=%s%n    Extra: %s",
+                        indice.equals(usado) ? "✓" : "!", nombre, rs.getString("type"), usado,
+                        posibles, rs.getString("rows"), extra));
+                    
+                    // Sin WHERE no hay índices posibles: basta con que exista para el ORDER BY
+                    boolean aplicable = indice.equals(usado) ||
+                        (posibles != null && Arrays.asList(posibles.split(",")).contains(indice)) ||
+                        (!sql.contains(" WHERE ") && MigracionesMySQL.existeIndice(conn, indice));
+                    if (!aplicable) {
+                        System.out.println("    ✗ " + indice + " no existe o no sirve para esta consulta");
+                        return false;
+                    }
+                    if (!indice.equals(usado)) {
+                        System.out.println("    ! El optimizador eligió otro plan (con pocas filas es normal)");
+                    } else if (indiceOrdena && extra != null && extra.contains("filesort")) {
+                        System.out.println("    ! Ordena las filas aunque " + indice + " ya las da en orden");
+                    }
+                    return true;
+                }
+            }
+        }
+    }
+}
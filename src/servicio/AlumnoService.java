@@ -3,8 +3,10 @@ package src.servicio;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 import src.repositorio.*;
 import src.modelo.*;
 import src.controlador.*;
@@ -45,13 +47,14 @@ public class AlumnoService {
      */
     public String generarCodigoAlumno() {
         int anioActual = LocalDate.now().getYear();
-        List<Alumno> alumnos = repositorio.obtenerTodos();
         
-        // Filtrar alumnos del año actual
+        // Contar alumnos del año actual sin armar la lista
         String prefijo = String.valueOf(anioActual);
-        long cantidad = alumnos.stream()
-                .filter(a -> a.getCodigoAlumno().startsWith(prefijo))
-                .count();
+        long cantidad;
+        try (Stream<Alumno> alumnos = repositorio.recorrerTodos()) {
+            cantidad = alumnos.filter(a -> a.getCodigoAlumno().startsWith(prefijo))
+                              .count();
+        }
         
         int siguiente = (int) cantidad + 1;
         return String.format("%d%03d", anioActual, siguiente);
@@ -185,32 +188,10 @@ public class AlumnoService {
      * Genera un reporte de alumnos con filtros
      */
     public ReporteAlumnos generarReporte(FiltroReporte filtro) {
-        List<Alumno> alumnos = repositorio.obtenerTodos();
-        
-        // Aplicar filtros
-        if (filtro.getCarrera() != null) {
-            alumnos = alumnos.stream()
-                    .filter(a -> a.getCarrera().equalsIgnoreCase(filtro.getCarrera()))
-                    .collect(Collectors.toList());
-        }
-        
-        if (filtro.getEstado() != null) {
-            alumnos = alumnos.stream()
-                    .filter(a -> a.getEstado().equalsIgnoreCase(filtro.getEstado()))
-                    .collect(Collectors.toList());
-        }
-        
-        if (filtro.getCicloMinimo() > 0) {
-            alumnos = alumnos.stream()
-                    .filter(a -> a.getCiclo() >= filtro.getCicloMinimo())
-                    .collect(Collectors.toList());
-        }
-        
-        if (filtro.getPromedioMinimo() > 0) {
-            alumnos = alumnos.stream()
-                    .filter(a -> a.getPromedio() >= filtro.getPromedioMinimo())
-                    .collect(Collectors.toList());
-        }
+        // Los filtros se evalúan en el repositorio (WHERE o índices)
+        List<Alumno> alumnos = repositorio.buscarPorCriterios(
+                filtro.getCarrera(), filtro.getEstado(),
+                filtro.getCicloMinimo(), filtro.getPromedioMinimo());
         
         return new ReporteAlumnos(alumnos, filtro);
     }
@@ -219,42 +200,30 @@ public class AlumnoService {
      * Identifica alumnos que necesitan tutoría
      */
     public List<Alumno> identificarAlumnosParaTutoria() {
-        return repositorio.obtenerTodos().stream()
-                .filter(a -> a.getEstado().equals("Activo"))
-                .filter(a -> a.getPromedio() < 13.0)
-                .sorted((a1, a2) -> Double.compare(a1.getPromedio(), a2.getPromedio()))
-                .collect(Collectors.toList());
+        return repositorio.buscarPorRangoPromedio("Activo", Double.NEGATIVE_INFINITY, 13.0);
     }
     
     /**
      * Obtiene alumnos destacados (top performers)
      */
     public List<Alumno> obtenerAlumnosDestacados(int limite) {
-        return repositorio.obtenerTodos().stream()
-                .filter(a -> a.getEstado().equals("Activo"))
-                .sorted((a1, a2) -> Double.compare(a2.getPromedio(), a1.getPromedio()))
-                .limit(limite)
-                .collect(Collectors.toList());
+        return repositorio.obtenerMejoresPromedios(limite);
     }
     
     /**
      * Obtiene distribución de alumnos por carrera
      */
     public String obtenerDistribucionPorCarrera() {
-        List<Alumno> alumnos = repositorio.obtenerTodos();
-        
-        // Agrupar por carrera y contar
-        var distribucion = alumnos.stream()
-                .collect(Collectors.groupingBy(
-                        Alumno::getCarrera,
-                        Collectors.counting()
-                ));
+        // Agrupar por carrera y contar en un solo recorrido, en memoria constante
+        Map<String, Long> distribucion = new HashMap<>();
+        repositorio.visitarTodos(a -> distribucion.merge(a.getCarrera(), 1L, Long::sum));
+        long total = distribucion.values().stream().mapToLong(Long::longValue).sum();
         
         StringBuilder reporte = new StringBuilder("=== DISTRIBUCIÓN POR CARRERA ===\n");
         distribucion.entrySet().stream()
                 .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
                 .forEach(entry -> {
-                    double porcentaje = (entry.getValue() * 100.0) / alumnos.size();
+                    double porcentaje = (entry.getValue() * 100.0) / total;
                     reporte.append(String.format("%-30s: %3d (%.1f%%)\n",
                             entry.getKey(), entry.getValue(), porcentaje));
                 });
@@ -8,11 +8,17 @@ class ReporteAlumnos {
     private List<Alumno> alumnos;
     private FiltroReporte filtro;
     private LocalDate fechaGeneracion;
+    private double promedioGeneral;
     
     public ReporteAlumnos(List<Alumno> alumnos, FiltroReporte filtro) {
         this.alumnos = alumnos;
         this.filtro = filtro;
         this.fechaGeneracion = LocalDate.now();
+        // Se calcula una sola vez, no en cada consulta
+        this.promedioGeneral = alumnos.stream()
+                .mapToDouble(Alumno::getPromedio)
+                .average()
+                .orElse(0.0);
     }
     
     public List<Alumno> getAlumnos() { return alumnos; }
@@ -22,10 +28,7 @@ class ReporteAlumnos {
     public int getCantidad() { return alumnos.size(); }
     
     public double getPromedioGeneral() {
-        return alumnos.stream()
-                .mapToDouble(Alumno::getPromedio)
-                .average()
-                .orElse(0.0);
+        return promedioGeneral;
     }
     
     @Override
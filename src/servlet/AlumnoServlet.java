@@ -10,18 +10,24 @@ import javax.servlet.http.HttpServletResponse;
 
 import src.controlador.AlumnoController;
 import src.modelo.Alumno;
+import src.modelo.AlumnoResumen;
 import src.modelo.RespuestaOperacion;
 import src.modelo.EstadisticasDTO;
+import src.modelo.PaginaResumen;
+import src.repositorio.AlumnoRepositoryConcurrente;
 
 @WebServlet("/alumnos")
 public class AlumnoServlet extends HttpServlet {
 
+    private static final int TAMANIO_PAGINA = 50;
+
     private AlumnoController controller;
 
     @Override
     public void init() throws ServletException {
-        // Initialize controller. The controller defaults to in-memory repository.
-        controller = new AlumnoController();
+        // Initialize controller. All request threads share the repository,
+        // so use the thread-safe in-memory implementation.
+        controller = new AlumnoController(AlumnoRepositoryConcurrente.getInstancia());
     }
 
     @Override
@@ -82,9 +88,15 @@ public class AlumnoServlet extends HttpServlet {
     }
 
     private void listarAlumnos(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        RespuestaOperacion respuesta = controller.obtenerTodos();
+        // One page at a time; "desde" carries the opaque token of the previous page
+        // Only the listed columns are loaded (AlumnoResumen)
+        RespuestaOperacion respuesta = controller.obtenerPaginaResumen(req.getParameter("desde"), TAMANIO_PAGINA);
         if (respuesta.isExito()) {
-            req.setAttribute("alumnos", respuesta.getDatos());
+            PaginaResumen pagina = respuesta.getDatosComoTipo(PaginaResumen.class);
+            req.setAttribute("alumnos", pagina.getAlumnos());
+            req.setAttribute("siguiente", pagina.getSiguiente());
+        } else if (req.getParameter("desde") != null) {
+            req.setAttribute("error", respuesta.getMensaje());
         }
         req.getRequestDispatcher("/listar_alumnos.jsp").forward(req, resp);
     }
@@ -92,18 +104,16 @@ public class AlumnoServlet extends HttpServlet {
     private void mostrarBuscar(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
          String query = req.getParameter("q");
          if (query != null && !query.trim().isEmpty()) {
-             // Try by code first
-             RespuestaOperacion res = controller.buscarPorCodigo(query);
-             if (!res.isExito()) {
-                 // Try by name
-                 res = controller.buscarPorNombre(query);
-             }
+             // Code and name lookups run concurrently; a code match wins,
+             // otherwise the name results (listed columns only) are shown
+             RespuestaOperacion res = controller.buscarPorCodigoONombre(query);
 
              if (res.isExito()) {
                  if (res.getDatos() instanceof List) {
                      req.setAttribute("alumnos", res.getDatos());
                  } else {
-                     req.setAttribute("alumnos", java.util.Collections.singletonList(res.getDatos()));
+                     AlumnoResumen resumen = AlumnoResumen.desde(res.getDatosComoTipo(Alumno.class));
+                     req.setAttribute("alumnos", java.util.Collections.singletonList(resumen));
                  }
              } else {
                  req.setAttribute("error", "No se encontraron alumnos.");